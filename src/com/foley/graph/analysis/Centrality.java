@@ -0,0 +1,133 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provides methods for computing the centrality of the vertices of a graph. Scores are normalized by the number of
+ * other vertices in the graph, so they fall in {@code [0, 1]} and can be compared across graphs of different sizes
+ */
+public class Centrality {
+    /**
+     * Computes the normalized out-degree centrality of every vertex
+     *
+     * @param g the graph to analyze
+     * @param <V> The type of vertices in the graph
+     * @return the out-degree centrality of every vertex
+     */
+    public static <V> Map<V, Double> outDegree(CompactGraph<V> g) {
+        int n = g.vertexCount();
+        double[] scores = new double[n];
+        for(int v = 0; v < n; v++) {
+            scores[v] = g.outDegree(v);
+        }
+        return normalize(g, scores, n - 1);
+    }
+
+    /**
+     * Computes the normalized out-degree centrality of every vertex
+     *
+     * @param g the graph to analyze
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return the out-degree centrality of every vertex
+     */
+    public static <V, E> Map<V, Double> outDegree(Graph<V, E> g) {
+        return outDegree(CompactGraph.of(g));
+    }
+
+    /**
+     * Computes the normalized in-degree centrality of every vertex
+     *
+     * @param g the graph to analyze
+     * @param <V> The type of vertices in the graph
+     * @return the in-degree centrality of every vertex
+     */
+    public static <V> Map<V, Double> inDegree(CompactGraph<V> g) {
+        double[] scores = new double[g.vertexCount()];
+        for(int t : g.targets()) {
+            scores[t]++;
+        }
+        return normalize(g, scores, g.vertexCount() - 1);
+    }
+
+    /**
+     * Computes the normalized in-degree centrality of every vertex
+     *
+     * @param g the graph to analyze
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return the in-degree centrality of every vertex
+     */
+    public static <V, E> Map<V, Double> inDegree(Graph<V, E> g) {
+        return inDegree(CompactGraph.of(g));
+    }
+
+    /**
+     * Computes the closeness centrality of every vertex from unweighted hop distances along outgoing edges. Vertices
+     * that cannot reach the whole graph are scored with the Wasserman-Faust correction, which scales a vertex's
+     * closeness within the part of the graph it can reach by the fraction of the graph that part covers. The searches
+     * from every vertex are run in bit-parallel batches by {@link MultiSourceBfs}
+     *
+     * @param g the graph to analyze
+     * @param <V> The type of vertices in the graph
+     * @return the closeness centrality of every vertex
+     */
+    public static <V> Map<V, Double> closeness(CompactGraph<V> g) {
+        int n = g.vertexCount();
+        var bfs = new MultiSourceBfs<>(g).runAll();
+        double[] scores = new double[n];
+        for(int s = 0; s < n; s++) {
+            scores[s] = closeness(n, bfs.getReachedCount(s), bfs.getDistanceSum(s));
+        }
+        return normalize(g, scores, 1);
+    }
+
+    /**
+     * Computes the closeness centrality of every vertex from unweighted hop distances along outgoing edges
+     *
+     * @param g the graph to analyze
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return the closeness centrality of every vertex
+     */
+    public static <V, E> Map<V, Double> closeness(Graph<V, E> g) {
+        return closeness(CompactGraph.of(g));
+    }
+
+    /**
+     * Computes the Wasserman-Faust closeness of a single vertex
+     *
+     * @param n the number of vertices in the graph
+     * @param reached the number of vertices reached, including the vertex itself
+     * @param total the sum of the distances to every reached vertex
+     * @return the closeness of the vertex
+     */
+    static double closeness(int n, long reached, long total) {
+        if(total == 0 || n < 2) {
+            return 0;
+        }
+        double r = reached - 1;
+        return (r / (n - 1)) * (r / total);
+    }
+
+    /**
+     * Divides every score by {@code divisor} and keys the results back to the graph's vertices
+     *
+     * @param g the graph the scores belong to
+     * @param scores the score of each vertex, indexed by dense vertex id
+     * @param divisor the amount to divide each score by
+     * @param <V> The type of vertices in the graph
+     * @return the normalized score of each vertex
+     */
+    private static <V> Map<V, Double> normalize(CompactGraph<V> g, double[] scores, double divisor) {
+        var map = new HashMap<V, Double>(scores.length * 2);
+        for(int i = 0; i < scores.length; i++) {
+            map.put(g.vertex(i), divisor > 0 ? scores[i] / divisor : 0.0);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,240 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.core.Graph;
+import com.foley.graph.core.GraphListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Weakly connected components that are kept up to date as edges are added to a graph. The components are held in a
+ * union-find structure with union by size and path halving, and the structure listens to the graph so that every
+ * {@code addEdge} merges two components in near constant time instead of triggering a recomputation.
+ * <p>
+ * Union-find cannot split a component, so removing an edge or vertex only marks the structure as stale. It is rebuilt
+ * from the graph the next time it is queried, which keeps bursts of removals down to a single rebuild
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public class IncrementalComponents<V, E> implements GraphListener<V, E> {
+    private Graph<V, E> g;
+    private Map<V, Integer> ids;
+    private int[] parent;
+    private int[] size;
+    private int vertexCount;
+    private int count;
+    private boolean stale;
+
+    /**
+     * Creates a new incremental component tracker and registers it as a listener on {@code g}
+     *
+     * @param g the graph to track
+     */
+    public IncrementalComponents(Graph<V, E> g) {
+        if(g == null) {
+            throw new IllegalArgumentException("cannot track the components of a null graph");
+        }
+        this.g = g;
+        rebuild();
+        g.addGraphListener(this);
+    }
+
+    /**
+     * The number of weakly connected components
+     *
+     * @return the number of weakly connected components
+     */
+    public int componentCount() {
+        refresh();
+        return count;
+    }
+
+    /**
+     * Gets the id of the component containing {@code v}. Ids are only stable until the next edge is added
+     *
+     * @param v the vertex to look up
+     * @return the component id of {@code v}, or {@code -1} if {@code v} is not in the graph
+     */
+    public int componentOf(V v) {
+        refresh();
+        Integer id = ids.get(v);
+        return id == null ? -1 : find(id);
+    }
+
+    /**
+     * Returns {@code true} if {@code v1} and {@code v2} are connected when edge direction is ignored
+     *
+     * @param v1 the first vertex
+     * @param v2 the second vertex
+     * @return {@code true} if both vertices are in the same weakly connected component
+     */
+    public boolean connected(V v1, V v2) {
+        int c = componentOf(v1);
+        return c >= 0 && c == componentOf(v2);
+    }
+
+    /**
+     * Gets the number of vertices in the component containing {@code v}
+     *
+     * @param v the vertex to look up
+     * @return the size of the component containing {@code v}, or {@code 0} if {@code v} is not in the graph
+     */
+    public int componentSize(V v) {
+        int c = componentOf(v);
+        return c < 0 ? 0 : size[c];
+    }
+
+    /**
+     * Stops listening to the graph
+     */
+    public void detach() {
+        g.removeGraphListener(this);
+    }
+
+    @Override
+    /**
+     * Adds {@code v} as a component of its own
+     *
+     * @param v the vertex that was added
+     */
+    public void vertexAdded(V v) {
+        if(!stale) {
+            add(v);
+        }
+    }
+
+    @Override
+    /**
+     * Marks the components as stale, since a removal may split a component
+     *
+     * @param v the vertex that was removed
+     */
+    public void vertexRemoved(V v) {
+        stale = true;
+    }
+
+    @Override
+    /**
+     * Merges the components of both endpoints
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the new cost to travel along the edge
+     */
+    public void edgeAdded(V v1, V v2, E cost) {
+        if(!stale) {
+            union(ids.get(v1), ids.get(v2));
+        }
+    }
+
+    @Override
+    /**
+     * Marks the components as stale, since a removal may split a component
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost of the edge that was removed
+     */
+    public void edgeRemoved(V v1, V v2, E cost) {
+        stale = true;
+    }
+
+    @Override
+    /**
+     * Forgets every component
+     */
+    public void graphCleared() {
+        ids.clear();
+        vertexCount = 0;
+        count = 0;
+        stale = false;
+    }
+
+    /**
+     * Rebuilds the components if a removal has made them stale
+     */
+    private void refresh() {
+        if(stale) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the components from scratch by adding every vertex and edge of the graph
+     */
+    private void rebuild() {
+        int n = g.size();
+        ids = new HashMap<>(n * 2);
+        parent = new int[Math.max(16, n)];
+        size = new int[parent.length];
+        vertexCount = 0;
+        count = 0;
+        stale = false;
+        for(V v : g.getVertices()) {
+            add(v);
+        }
+        for(V v : g.getVertices()) {
+            int id = ids.get(v);
+            for(V adj : g.getAdjacent(v)) {
+                union(id, ids.get(adj));
+            }
+        }
+    }
+
+    /**
+     * Adds a vertex as a new singleton component
+     *
+     * @param v the vertex to add
+     */
+    private void add(V v) {
+        if(ids.containsKey(v)) {
+            return;
+        }
+        if(vertexCount == parent.length) {
+            parent = Arrays.copyOf(parent, vertexCount * 2);
+            size = Arrays.copyOf(size, vertexCount * 2);
+        }
+        parent[vertexCount] = vertexCount;
+        size[vertexCount] = 1;
+        ids.put(v, vertexCount++);
+        count++;
+    }
+
+    /**
+     * Merges the components containing {@code a} and {@code b}, hanging the smaller one under the larger
+     *
+     * @param a a vertex id
+     * @param b another vertex id
+     */
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if(ra == rb) {
+            return;
+        }
+        if(size[ra] < size[rb]) {
+            int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        parent[rb] = ra;
+        size[ra] += size[rb];
+        count--;
+    }
+
+    /**
+     * Finds the root of the component containing {@code v}, halving the path to it along the way
+     *
+     * @param v a vertex id
+     * @return the root of the component
+     */
+    private int find(int v) {
+        while(parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+}
@@ -0,0 +1,462 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.core.BasicEdge;
+import com.foley.graph.core.BasicHashGraph;
+import com.foley.graph.core.Edge;
+import com.foley.graph.core.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A minimum spanning forest of a graph, in which edge direction is ignored. Costs are ordered with a
+ * {@code Comparator}, or by their natural order when they are {@code Comparable}; ties are broken by edge position so
+ * that every edge has a distinct rank.
+ * <p>
+ * The graph is first flattened into parallel arrays of edge endpoints and costs. Two algorithms are provided:
+ * <ul>
+ *     <li>{@link #boruvka(Graph, Comparator)} runs Boruvka rounds in which every edge offers itself, in parallel, as the
+ *     cheapest edge of both of its components. The cheapest edges are then hooked into a lock-free union-find and the
+ *     edges that became internal to a component are filtered out before the next round</li>
+ *     <li>{@link #filterKruskal(Graph, Comparator)} partitions the edges around the median of three randomly placed
+ *     edges, solves the light half first, then filters the heavy half against the components found so far before
+ *     solving it. Only partitions smaller than a threshold are sorted, with a parallel merge sort of edge indices. This
+ *     is usually the faster choice for sparse graphs</li>
+ * </ul>
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public class MinimumSpanningForest<V, E> {
+    private static final int KRUSKAL_THRESHOLD = 1 << 16;
+    private static final int SORT_GRAIN = 1 << 12;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private List<V> vertices;
+    private List<Edge<V, E>> edges;
+
+    /**
+     * Creates a new minimum spanning forest result
+     *
+     * @param vertices the vertices spanned by the forest
+     * @param edges the edges of the forest
+     */
+    private MinimumSpanningForest(List<V> vertices, List<Edge<V, E>> edges) {
+        this.vertices = vertices;
+        this.edges = edges;
+    }
+
+    /**
+     * Finds a minimum spanning forest of {@code g} with parallel Boruvka rounds, ordering costs by their natural order
+     *
+     * @param g the graph to span
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a minimum spanning forest of {@code g}
+     */
+    public static <V, E extends Comparable<? super E>> MinimumSpanningForest<V, E> boruvka(Graph<V, E> g) {
+        return boruvka(g, Comparator.naturalOrder());
+    }
+
+    /**
+     * Finds a minimum spanning forest of {@code g} with parallel Boruvka rounds
+     *
+     * @param g the graph to span
+     * @param c orders the edge costs, cheapest first
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a minimum spanning forest of {@code g}
+     */
+    public static <V, E> MinimumSpanningForest<V, E> boruvka(Graph<V, E> g, Comparator<? super E> c) {
+        var edges = new EdgeArray<>(g, c);
+        return edges.result(edges.boruvka());
+    }
+
+    /**
+     * Finds a minimum spanning forest of {@code g} with filter-Kruskal, ordering costs by their natural order
+     *
+     * @param g the graph to span
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a minimum spanning forest of {@code g}
+     */
+    public static <V, E extends Comparable<? super E>> MinimumSpanningForest<V, E> filterKruskal(Graph<V, E> g) {
+        return filterKruskal(g, Comparator.naturalOrder());
+    }
+
+    /**
+     * Finds a minimum spanning forest of {@code g} with filter-Kruskal
+     *
+     * @param g the graph to span
+     * @param c orders the edge costs, cheapest first
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a minimum spanning forest of {@code g}
+     */
+    public static <V, E> MinimumSpanningForest<V, E> filterKruskal(Graph<V, E> g, Comparator<? super E> c) {
+        var edges = new EdgeArray<>(g, c);
+        return edges.result(edges.filterKruskal());
+    }
+
+    /**
+     * The number of edges in the forest
+     *
+     * @return the number of edges in the forest
+     */
+    public int edgeCount() {
+        return edges.size();
+    }
+
+    /**
+     * The number of trees in the forest, counting isolated vertices as trees of their own
+     *
+     * @return the number of trees in the forest
+     */
+    public int treeCount() {
+        return vertices.size() - edges.size();
+    }
+
+    /**
+     * Gets the edges of the forest, each in the direction it had in the original graph
+     *
+     * @return an unmodifiable list of the edges of the forest
+     */
+    public List<Edge<V, E>> getEdges() {
+        return Collections.unmodifiableList(edges);
+    }
+
+    /**
+     * Streams the edges of the forest
+     *
+     * @return a stream of the edges of the forest
+     */
+    public Stream<Edge<V, E>> edges() {
+        return edges.stream();
+    }
+
+    /**
+     * Builds a new graph holding every vertex of the original graph and the edges of the forest
+     *
+     * @return a new graph holding the forest
+     */
+    public Graph<V, E> toGraph() {
+        var forest = new BasicHashGraph<V, E>();
+        for(V v : vertices) {
+            forest.addVertex(v);
+        }
+        for(var e : edges) {
+            forest.addEdge(e.getSource(), e.getDestination(), e.getCost());
+        }
+        return forest;
+    }
+
+    /**
+     * A graph flattened into parallel arrays of edge endpoints and costs
+     *
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     */
+    private static class EdgeArray<V, E> {
+        private List<V> vertices;
+        private int[] src;
+        private int[] dst;
+        private E[] cost;
+        private Comparator<? super E> c;
+        private int[] chosen;
+        private int chosenCount;
+
+        @SuppressWarnings("unchecked")
+        private EdgeArray(Graph<V, E> g, Comparator<? super E> c) {
+            if(g == null || c == null) {
+                throw new IllegalArgumentException("cannot span a null graph or order costs with a null comparator");
+            }
+            this.c = c;
+            vertices = new ArrayList<>(g.getVertices());
+            var ids = new HashMap<V, Integer>(vertices.size() * 2);
+            for(int i = 0; i < vertices.size(); i++) {
+                ids.put(vertices.get(i), i);
+            }
+            int m = 0;
+            for(V v : vertices) {
+                m += g.getAdjacent(v).size();
+            }
+            src = new int[m];
+            dst = new int[m];
+            cost = (E[])new Object[m];
+            m = 0;
+            for(int i = 0; i < vertices.size(); i++) {
+                V v = vertices.get(i);
+                for(V adj : g.getAdjacent(v)) {
+                    int j = ids.get(adj);
+                    // Self loops can never be part of a spanning forest
+                    if(i != j) {
+                        src[m] = i;
+                        dst[m] = j;
+                        cost[m++] = g.getEdgeCost(v, adj);
+                    }
+                }
+            }
+            if(m < src.length) {
+                src = Arrays.copyOf(src, m);
+                dst = Arrays.copyOf(dst, m);
+                cost = Arrays.copyOf(cost, m);
+            }
+        }
+
+        /**
+         * Compares two edges by cost, breaking ties by position
+         *
+         * @param a an edge index
+         * @param b another edge index
+         * @return a negative number if {@code a} is cheaper than {@code b}
+         */
+        private int compare(int a, int b) {
+            int r = c.compare(cost[a], cost[b]);
+            return r != 0 ? r : Integer.compare(a, b);
+        }
+
+        /**
+         * Runs parallel Boruvka rounds until no component has an outgoing edge
+         *
+         * @return the indices of the forest edges
+         */
+        private int[] boruvka() {
+            int n = vertices.size();
+            var parent = new AtomicIntegerArray(n);
+            for(int v = 0; v < n; v++) {
+                parent.set(v, v);
+            }
+            var taken = new AtomicIntegerArray(src.length);
+            int[] live = IntStream.range(0, src.length).toArray();
+            var best = new AtomicIntegerArray(n);
+            while(live.length > 0) {
+                for(int v = 0; v < n; v++) {
+                    best.set(v, -1);
+                }
+                final int[] round = live;
+                // Every live edge offers itself as the cheapest edge of both components it connects
+                IntStream.range(0, round.length).parallel().forEach(i -> {
+                    int e = round[i];
+                    int ru = WeaklyConnectedComponents.find(parent, src[e]);
+                    int rw = WeaklyConnectedComponents.find(parent, dst[e]);
+                    if(ru != rw) {
+                        offer(best, ru, e);
+                        offer(best, rw, e);
+                    }
+                });
+                // The cheapest edges form a forest over the components, so hooking them never closes a cycle
+                IntStream.range(0, n).parallel().forEach(r -> {
+                    int e = best.get(r);
+                    if(e >= 0 && taken.compareAndSet(e, 0, 1)) {
+                        WeaklyConnectedComponents.hook(parent, src[e], dst[e]);
+                    }
+                });
+                live = IntStream.of(round).parallel()
+                        .filter(e -> WeaklyConnectedComponents.find(parent, src[e]) != WeaklyConnectedComponents.find(parent, dst[e]))
+                        .toArray();
+            }
+            return IntStream.range(0, src.length).filter(e -> taken.get(e) == 1).toArray();
+        }
+
+        /**
+         * Makes edge {@code e} the cheapest edge of component {@code r} if it is cheaper than the current one
+         *
+         * @param best the cheapest edge of each component
+         * @param r the component root
+         * @param e the edge index
+         */
+        private void offer(AtomicIntegerArray best, int r, int e) {
+            while(true) {
+                int cur = best.get(r);
+                if(cur >= 0 && compare(cur, e) <= 0) {
+                    return;
+                }
+                if(best.compareAndSet(r, cur, e)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Runs filter-Kruskal over every edge
+         *
+         * @return the indices of the forest edges
+         */
+        private int[] filterKruskal() {
+            int n = vertices.size();
+            int[] parent = new int[n];
+            for(int v = 0; v < n; v++) {
+                parent[v] = v;
+            }
+            // A forest has fewer edges than vertices
+            chosen = new int[Math.max(0, n - 1)];
+            chosenCount = 0;
+            filterKruskal(IntStream.range(0, src.length).toArray(), parent, new SplittableRandom(src.length));
+            return Arrays.copyOf(chosen, chosenCount);
+        }
+
+        /**
+         * Adds the forest edges among {@code edges} to the chosen edges
+         *
+         * @param edges the edge indices to consider
+         * @param parent the union-find of the components found so far
+         * @param rand chooses pivots
+         */
+        private void filterKruskal(int[] edges, int[] parent, SplittableRandom rand) {
+            if(edges.length <= KRUSKAL_THRESHOLD) {
+                kruskal(edges, parent);
+                return;
+            }
+            // Every edge has a distinct rank, so the median of three distinct edges leaves at least one edge on each
+            // side, and both halves are always smaller than the whole
+            int first = rand.nextInt(edges.length);
+            int pivot = median(edges[first], edges[(first + edges.length / 3) % edges.length],
+                    edges[(first + 2 * (edges.length / 3)) % edges.length]);
+            int[] light = IntStream.of(edges).parallel().filter(e -> compare(e, pivot) < 0).toArray();
+            int[] heavy = IntStream.of(edges).parallel().filter(e -> compare(e, pivot) >= 0).toArray();
+            filterKruskal(light, parent, rand);
+            // Heavy edges that now sit inside a component can never join the forest
+            heavy = IntStream.of(heavy).parallel().filter(e -> root(parent, src[e]) != root(parent, dst[e])).toArray();
+            filterKruskal(heavy, parent, rand);
+        }
+
+        /**
+         * Finds the middle of three edges by rank
+         *
+         * @param a an edge index
+         * @param b another edge index
+         * @param c a third edge index
+         * @return the edge ranked between the other two
+         */
+        private int median(int a, int b, int c) {
+            if(compare(a, b) > 0) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            // Now a is below b, so the median is b, or the larger of a and c if c is below b
+            if(compare(c, b) >= 0) {
+                return b;
+            }
+            return compare(a, c) > 0 ? a : c;
+        }
+
+        /**
+         * Sorts the edges by rank and scans them in order with Kruskal's algorithm
+         *
+         * @param edges the edge indices to consider, which are reordered
+         * @param parent the union-find of the components found so far
+         */
+        private void kruskal(int[] edges, int[] parent) {
+            sort(edges, new int[edges.length], 0, edges.length);
+            for(int e : edges) {
+                int ru = compress(parent, src[e]);
+                int rw = compress(parent, dst[e]);
+                if(ru != rw) {
+                    parent[Math.max(ru, rw)] = Math.min(ru, rw);
+                    chosen[chosenCount++] = e;
+                }
+            }
+        }
+
+        /**
+         * Sorts a range of edge indices by rank with a merge sort, sorting the halves of large ranges in parallel. Costs
+         * are only reached through the comparator, so no edge index is ever boxed
+         *
+         * @param edges the edge indices to sort
+         * @param buffer scratch space as long as {@code edges}
+         * @param from the first position to sort
+         * @param to one past the last position to sort
+         */
+        private void sort(int[] edges, int[] buffer, int from, int to) {
+            if(to - from <= INSERTION_SORT_THRESHOLD) {
+                for(int i = from + 1; i < to; i++) {
+                    int e = edges[i];
+                    int j = i - 1;
+                    while(j >= from && compare(edges[j], e) > 0) {
+                        edges[j + 1] = edges[j];
+                        j--;
+                    }
+                    edges[j + 1] = e;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            if(to - from >= SORT_GRAIN) {
+                ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> sort(edges, buffer, from, mid)),
+                        ForkJoinTask.adapt(() -> sort(edges, buffer, mid, to)));
+            } else {
+                sort(edges, buffer, from, mid);
+                sort(edges, buffer, mid, to);
+            }
+            // The halves may already be in order
+            if(compare(edges[mid - 1], edges[mid]) < 0) {
+                return;
+            }
+            System.arraycopy(edges, from, buffer, from, to - from);
+            int i = from;
+            int j = mid;
+            for(int k = from; k < to; k++) {
+                if(j >= to || (i < mid && compare(buffer[i], buffer[j]) < 0)) {
+                    edges[k] = buffer[i++];
+                } else {
+                    edges[k] = buffer[j++];
+                }
+            }
+        }
+
+        /**
+         * Finds the root of the tree containing {@code v} without modifying the forest, so that it is safe to call
+         * from parallel filters
+         *
+         * @param parent the union-find of the components found so far
+         * @param v the vertex to look up
+         * @return the root of the tree containing {@code v}
+         */
+        private static int root(int[] parent, int v) {
+            while(parent[v] != v) {
+                v = parent[v];
+            }
+            return v;
+        }
+
+        /**
+         * Finds the root of the tree containing {@code v}, halving the path to it along the way. Only safe to call
+         * while no parallel filter is running
+         *
+         * @param parent the union-find of the components found so far
+         * @param v the vertex to look up
+         * @return the root of the tree containing {@code v}
+         */
+        private static int compress(int[] parent, int v) {
+            while(parent[v] != v) {
+                parent[v] = parent[parent[v]];
+                v = parent[v];
+            }
+            return v;
+        }
+
+        /**
+         * Builds the result from the chosen edge indices
+         *
+         * @param forest the indices of the forest edges
+         * @return the minimum spanning forest
+         */
+        private MinimumSpanningForest<V, E> result(int[] forest) {
+            var edges = new ArrayList<Edge<V, E>>(forest.length);
+            for(int e : forest) {
+                edges.add(BasicEdge.buildEdge(vertices.get(src[e]), vertices.get(dst[e]), cost[e]));
+            }
+            return new MinimumSpanningForest<>(vertices, edges);
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs unweighted breadth first searches from many sources at once. Sources are processed in batches of
+ * {@code 64 * words}, and each vertex carries {@code words} longs per frontier with one bit per source in the batch, so a
+ * single scan of a vertex's adjacency advances every search in the batch that has reached it. Batches are independent
+ * and run in parallel on a fork-join pool.
+ * <p>
+ * Each level only visits the vertices on the current frontier and the vertices they touch, which are kept in lists, so
+ * deep graphs such as road networks cost no more per level than their frontiers. Each range of batches handed to a
+ * worker allocates three {@code long} arrays of {@code words} entries per vertex and reuses them for every batch in the
+ * range, so memory grows with both the batch width and the number of workers, and is released when the run ends.
+ * Searches follow outgoing edges only
+ *
+ * @param <V> The type of vertices in the graph
+ */
+public class MultiSourceBfs<V> {
+    /**
+     * The number of 64-bit words per vertex in each frontier, used when none is specified
+     */
+    public static final int DEFAULT_WORDS = 2;
+
+    private CompactGraph<V> g;
+    private ForkJoinPool pool;
+    private int words;
+
+    /**
+     * Creates a new multi-source BFS engine over a compact graph that runs on the common fork-join pool
+     *
+     * @param g the graph to search
+     */
+    public MultiSourceBfs(CompactGraph<V> g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new multi-source BFS engine over a compact graph
+     *
+     * @param g the graph to search
+     * @param pool the pool to run batches on
+     */
+    public MultiSourceBfs(CompactGraph<V> g, ForkJoinPool pool) {
+        if(g == null || pool == null) {
+            throw new IllegalArgumentException("cannot search a null graph or run on a null pool");
+        }
+        this.g = g;
+        this.pool = pool;
+        words = DEFAULT_WORDS;
+    }
+
+    /**
+     * Creates a new multi-source BFS engine over {@code g}
+     *
+     * @param g the graph to search
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a new multi-source BFS engine over {@code g}
+     */
+    public static <V, E> MultiSourceBfs<V> of(Graph<V, E> g) {
+        return new MultiSourceBfs<>(CompactGraph.of(g));
+    }
+
+    /**
+     * Sets the number of 64-bit words per vertex in each frontier, which makes each batch {@code 64 * words} sources
+     *
+     * @param words the number of words per vertex, at least {@code 1}
+     */
+    public void setWords(int words) {
+        if(words < 1) {
+            throw new IllegalArgumentException("a frontier needs at least one word per vertex");
+        }
+        this.words = words;
+    }
+
+    /**
+     * Gets the number of sources searched together in each batch
+     *
+     * @return the number of sources per batch
+     */
+    public int getBatchSize() {
+        return words * Long.SIZE;
+    }
+
+    /**
+     * Searches from every vertex of the graph
+     *
+     * @return the result of every search, where the source at position {@code i} is the vertex with id {@code i}
+     */
+    public Result runAll() {
+        int[] sources = new int[g.vertexCount()];
+        Arrays.setAll(sources, i -> i);
+        return run(sources);
+    }
+
+    /**
+     * Searches from each of the given vertices
+     *
+     * @param sources the vertices to search from
+     * @return the result of every search, in the iteration order of {@code sources}
+     */
+    public Result run(Collection<V> sources) {
+        if(sources == null) {
+            throw new IllegalArgumentException("cannot search from a null collection of sources");
+        }
+        int[] ids = new int[sources.size()];
+        int i = 0;
+        for(V v : sources) {
+            int id = g.id(v);
+            if(id < 0) {
+                throw new IllegalArgumentException("source " + v + " is not in the graph");
+            }
+            ids[i++] = id;
+        }
+        return run(ids);
+    }
+
+    /**
+     * Searches from each of the given dense vertex ids
+     *
+     * @param sources the ids of the vertices to search from
+     * @return the result of every search, in the order of {@code sources}
+     */
+    public Result run(int[] sources) {
+        if(sources == null) {
+            throw new IllegalArgumentException("cannot search from a null array of sources");
+        }
+        int n = g.vertexCount();
+        for(int s : sources) {
+            if(s < 0 || s >= n) {
+                throw new IllegalArgumentException("source id " + s + " is not in the graph");
+            }
+        }
+        var result = new Result(sources.clone());
+        int batch = getBatchSize();
+        int batches = (sources.length + batch - 1) / batch;
+        if(batches == 0) {
+            return result;
+        }
+        int grain = Math.max(1, batches / (pool.getParallelism() * 4));
+        int w = words;
+        pool.invoke(new RangeTask(0, batches, grain, (from, to) -> {
+            var buf = new Buffers(n, w);
+            for(int b = from; b < to; b++) {
+                search(result, b * batch, Math.min(sources.length, (b + 1) * batch), buf);
+            }
+            return 0;
+        }));
+        return result;
+    }
+
+    /**
+     * Estimates the hop diameter of the graph with a double sweep. Searches run from {@code samples} random vertices,
+     * then again from the farthest vertex each of them reached, and the largest eccentricity seen is returned. The
+     * estimate is a lower bound on the true diameter, and is exact when every vertex is sampled
+     *
+     * @param samples the number of random starting vertices
+     * @param seed the seed used to choose the starting vertices
+     * @return a lower bound on the longest shortest path, in hops
+     */
+    public int estimateDiameter(int samples, long seed) {
+        if(samples < 1) {
+            throw new IllegalArgumentException("a diameter estimate needs at least one sample");
+        }
+        int n = g.vertexCount();
+        if(n == 0) {
+            return 0;
+        }
+        if(samples >= n) {
+            return runAll().getMaxEccentricity();
+        }
+        // Partial Fisher-Yates shuffle picks distinct samples
+        int[] ids = new int[n];
+        Arrays.setAll(ids, i -> i);
+        var random = new SplittableRandom(seed);
+        for(int i = 0; i < samples; i++) {
+            int j = i + random.nextInt(n - i);
+            int t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
+        }
+        var first = run(Arrays.copyOf(ids, samples));
+        int[] far = new int[samples];
+        for(int i = 0; i < samples; i++) {
+            far[i] = first.getFarthest(i);
+        }
+        return Math.max(first.getMaxEccentricity(), run(far).getMaxEccentricity());
+    }
+
+    /**
+     * Runs one batch of searches, recording the results of each source
+     *
+     * @param result the results to fill in
+     * @param from the position of the first source of the batch
+     * @param to one past the position of the last source of the batch
+     * @param buf the search buffers, whose frontiers are all zero on entry and exit
+     */
+    private void search(Result result, int from, int to, Buffers buf) {
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        int w = buf.words;
+        long[] seen = buf.seen;
+        long[] visit = buf.visit;
+        long[] next = buf.next;
+        int[] frontier = buf.frontier;
+        int[] touched = buf.touched;
+        int[] stamp = buf.stamp;
+        Arrays.fill(seen, 0);
+        int size = 0;
+        for(int i = from; i < to; i++) {
+            int s = result.sources[i];
+            int bit = i - from;
+            seen[s * w + (bit >>> 6)] |= 1L << bit;
+            if(visit[s * w + (bit >>> 6)] == 0 && isEmpty(visit, s * w, w)) {
+                frontier[size++] = s;
+            }
+            visit[s * w + (bit >>> 6)] |= 1L << bit;
+            result.reached[i] = 1;
+            result.farthest[i] = s;
+        }
+        int level = 0;
+        while(size > 0) {
+            level++;
+            int generation = buf.nextGeneration();
+            // Push each frontier vertex's searches to its neighbors, emptying the frontier as it goes and listing each
+            // neighbor the first time it is touched
+            int touchedCount = 0;
+            for(int f = 0; f < size; f++) {
+                int v = frontier[f];
+                int base = v * w;
+                for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int t = targets[e];
+                    if(stamp[t] != generation) {
+                        stamp[t] = generation;
+                        touched[touchedCount++] = t;
+                    }
+                    for(int k = 0; k < w; k++) {
+                        next[t * w + k] |= visit[base + k];
+                    }
+                }
+                for(int k = 0; k < w; k++) {
+                    visit[base + k] = 0;
+                }
+            }
+            // Keep only the searches reaching each touched vertex for the first time, which form the next frontier
+            size = 0;
+            for(int j = 0; j < touchedCount; j++) {
+                int v = touched[j];
+                int base = v * w;
+                boolean any = false;
+                for(int k = 0; k < w; k++) {
+                    long fresh = next[base + k] & ~seen[base + k];
+                    next[base + k] = 0;
+                    if(fresh == 0) {
+                        continue;
+                    }
+                    any = true;
+                    seen[base + k] |= fresh;
+                    visit[base + k] = fresh;
+                    while(fresh != 0) {
+                        int i = from + (k << 6) + Long.numberOfTrailingZeros(fresh);
+                        fresh &= fresh - 1;
+                        result.distanceSums[i] += level;
+                        result.reached[i]++;
+                        result.eccentricities[i] = level;
+                        result.farthest[i] = v;
+                    }
+                }
+                if(any) {
+                    frontier[size++] = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if every word of a vertex's bits is zero
+     *
+     * @param bits the bits of every vertex
+     * @param base the position of the vertex's first word
+     * @param w the number of words per vertex
+     * @return {@code true} if the vertex has no bits set
+     */
+    private static boolean isEmpty(long[] bits, int base, int w) {
+        for(int k = 0; k < w; k++) {
+            if(bits[base + k] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The buffers reused for every batch in one range of batches
+     */
+    private static class Buffers {
+        private int words;
+        private long[] seen;
+        private long[] visit;
+        private long[] next;
+        private int[] frontier;
+        private int[] touched;
+        private int[] stamp;
+        private int generation;
+
+        private Buffers(int n, int words) {
+            this.words = words;
+            seen = new long[n * words];
+            visit = new long[n * words];
+            next = new long[n * words];
+            frontier = new int[n];
+            touched = new int[n];
+            stamp = new int[n];
+        }
+
+        /**
+         * Starts a new level, after which no vertex counts as touched
+         *
+         * @return the stamp that marks the vertices touched in the new level
+         */
+        private int nextGeneration() {
+            if(++generation == 0) {
+                // The stamps wrapped around, so old marks could be mistaken for new ones
+                Arrays.fill(stamp, 0);
+                generation = 1;
+            }
+            return generation;
+        }
+    }
+
+    /**
+     * The results of a set of breadth first searches, indexed by the position of each source
+     */
+    public static class Result {
+        private int[] sources;
+        private long[] distanceSums;
+        private int[] reached;
+        private int[] eccentricities;
+        private int[] farthest;
+
+        /**
+         * Creates an empty result for a set of sources
+         *
+         * @param sources the ids of the vertices searched from
+         */
+        private Result(int[] sources) {
+            this.sources = sources;
+            distanceSums = new long[sources.length];
+            reached = new int[sources.length];
+            eccentricities = new int[sources.length];
+            farthest = new int[sources.length];
+        }
+
+        /**
+         * Gets the number of searches
+         *
+         * @return the number of searches
+         */
+        public int size() {
+            return sources.length;
+        }
+
+        /**
+         * Gets the id of the vertex search {@code i} started from
+         *
+         * @param i the position of the search
+         * @return the id of the source vertex
+         */
+        public int getSource(int i) {
+            return sources[i];
+        }
+
+        /**
+         * Gets the sum of the hop distances from the source of search {@code i} to every vertex it reached
+         *
+         * @param i the position of the search
+         * @return the sum of the distances to every reached vertex
+         */
+        public long getDistanceSum(int i) {
+            return distanceSums[i];
+        }
+
+        /**
+         * Gets the number of vertices search {@code i} reached, including its source
+         *
+         * @param i the position of the search
+         * @return the number of vertices reached
+         */
+        public int getReachedCount(int i) {
+            return reached[i];
+        }
+
+        /**
+         * Gets the largest hop distance from the source of search {@code i} to a vertex it reached
+         *
+         * @param i the position of the search
+         * @return the eccentricity of the source within the vertices it can reach
+         */
+        public int getEccentricity(int i) {
+            return eccentricities[i];
+        }
+
+        /**
+         * Gets the id of a vertex at the largest hop distance from the source of search {@code i}
+         *
+         * @param i the position of the search
+         * @return the id of a farthest reached vertex
+         */
+        public int getFarthest(int i) {
+            return farthest[i];
+        }
+
+        /**
+         * Gets the largest eccentricity of any search, which is a lower bound on the hop diameter of the graph
+         *
+         * @return the largest eccentricity of any search
+         */
+        public int getMaxEccentricity() {
+            int max = 0;
+            for(int e : eccentricities) {
+                max = Math.max(max, e);
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Answers k-hop neighborhood queries: the vertices within {@code k} undirected hops of a vertex, not counting the vertex
+ * itself. Searches run over sorted int adjacency rows. A single query marks the vertices it visits in a hash set, so its
+ * cost follows the size of the neighborhood rather than the size of the graph. Neighborhood sizes for every vertex are
+ * computed in parallel, where each range of vertices marks visits in arrays with a generation stamp so that the buffers
+ * of one search are reused by the next without being cleared
+ *
+ * @param <V> The type of vertices in the graph
+ */
+public class Neighborhoods<V> {
+    private CompactGraph<V> g;
+    private ForkJoinPool pool;
+    private SortedAdjacency adjacency;
+
+    /**
+     * Creates a new neighborhood index over a compact graph that runs on the common fork-join pool
+     *
+     * @param g the graph to query
+     */
+    public Neighborhoods(CompactGraph<V> g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new neighborhood index over a compact graph
+     *
+     * @param g the graph to query
+     * @param pool the pool to compute neighborhood sizes on
+     */
+    public Neighborhoods(CompactGraph<V> g, ForkJoinPool pool) {
+        if(g == null || pool == null) {
+            throw new IllegalArgumentException("cannot query a null graph or run on a null pool");
+        }
+        this.g = g;
+        this.pool = pool;
+        adjacency = SortedAdjacency.of(g);
+    }
+
+    /**
+     * Creates a new neighborhood index over {@code g}
+     *
+     * @param g the graph to query
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a new neighborhood index over {@code g}
+     */
+    public static <V, E> Neighborhoods<V> of(Graph<V, E> g) {
+        return new Neighborhoods<>(CompactGraph.of(g));
+    }
+
+    /**
+     * Gets the vertices within {@code k} hops of vertex {@code v}
+     *
+     * @param v the vertex at the center of the neighborhood
+     * @param k the largest number of hops
+     * @return the vertices within {@code k} hops of {@code v}, not including {@code v}
+     */
+    public Set<V> getNeighborhood(V v, int k) {
+        var search = new Search();
+        int size = search.run(idOf(v), checkHops(k));
+        var set = new HashSet<V>(size * 2);
+        // The queue holds the center first, followed by every vertex it reached
+        for(int i = 1; i <= size; i++) {
+            set.add(g.vertex(search.queue[i]));
+        }
+        return set;
+    }
+
+    /**
+     * Gets the number of vertices within {@code k} hops of vertex {@code v}
+     *
+     * @param v the vertex at the center of the neighborhood
+     * @param k the largest number of hops
+     * @return the number of vertices within {@code k} hops of {@code v}, not including {@code v}
+     */
+    public int getNeighborhoodSize(V v, int k) {
+        return new Search().run(idOf(v), checkHops(k));
+    }
+
+    /**
+     * Computes the number of vertices within {@code k} hops of every vertex
+     *
+     * @param k the largest number of hops
+     * @return the size of the {@code k}-hop neighborhood of every vertex
+     */
+    public Map<V, Integer> getNeighborhoodSizes(int k) {
+        int[] sizes = neighborhoodSizes(k);
+        var map = new HashMap<V, Integer>(sizes.length * 2);
+        for(int v = 0; v < sizes.length; v++) {
+            map.put(g.vertex(v), sizes[v]);
+        }
+        return map;
+    }
+
+    /**
+     * Computes the number of vertices within {@code k} hops of every vertex, indexed by dense vertex id
+     *
+     * @param k the largest number of hops
+     * @return the size of the {@code k}-hop neighborhood of every vertex
+     */
+    public int[] neighborhoodSizes(int k) {
+        checkHops(k);
+        int n = adjacency.vertexCount();
+        int[] sizes = new int[n];
+        if(n == 0) {
+            return sizes;
+        }
+        int grain = Math.max(1, n / (pool.getParallelism() * 16));
+        // Each range of vertices gets its own search buffers, which are reused for every vertex in the range
+        pool.invoke(new RangeTask(0, n, grain, (from, to) -> {
+            var search = new Search(n);
+            for(int v = from; v < to; v++) {
+                sizes[v] = search.run(v, k);
+            }
+            return 0;
+        }));
+        return sizes;
+    }
+
+    /**
+     * Gets the dense id of a vertex
+     *
+     * @param v the vertex
+     * @return the dense id of {@code v}
+     */
+    private int idOf(V v) {
+        int id = g.id(v);
+        if(id < 0) {
+            throw new IllegalArgumentException("vertex " + v + " is not in the graph");
+        }
+        return id;
+    }
+
+    /**
+     * Checks that a hop count is usable
+     *
+     * @param k the largest number of hops
+     * @return {@code k}
+     */
+    private static int checkHops(int k) {
+        if(k < 0) {
+            throw new IllegalArgumentException("a neighborhood cannot have a negative number of hops");
+        }
+        return k;
+    }
+
+    /**
+     * The buffers of a hop-limited breadth first search, which marks visited vertices either in a stamp array sized for
+     * the whole graph or in a hash set that only grows with the search
+     */
+    private class Search {
+        private int[] stamp;
+        private Set<Integer> seen;
+        private int[] queue;
+        private int generation;
+
+        /**
+         * Creates buffers for repeated searches over a graph with {@code n} vertices
+         *
+         * @param n the number of vertices
+         */
+        private Search(int n) {
+            stamp = new int[n];
+            queue = new int[n];
+        }
+
+        /**
+         * Creates buffers for a single search, sized by what it visits
+         */
+        private Search() {
+            seen = new HashSet<>();
+            queue = new int[16];
+        }
+
+        /**
+         * Finds the vertices within {@code k} hops of a vertex, leaving them in the queue after the center
+         *
+         * @param center the dense id of the vertex at the center
+         * @param k the largest number of hops
+         * @return the number of vertices found, not including the center
+         */
+        private int run(int center, int k) {
+            int[] offsets = adjacency.offsets();
+            int[] neighbors = adjacency.neighbors();
+            if(seen != null) {
+                seen.clear();
+            } else if(++generation == 0) {
+                // The stamps wrapped around, so old marks could be mistaken for new ones
+                Arrays.fill(stamp, 0);
+                generation = 1;
+            }
+            int head = 0;
+            int tail = 0;
+            mark(center);
+            queue[tail++] = center;
+            for(int hop = 0; hop < k && head < tail; hop++) {
+                int levelEnd = tail;
+                while(head < levelEnd) {
+                    int v = queue[head++];
+                    for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int w = neighbors[e];
+                        if(mark(w)) {
+                            if(tail == queue.length) {
+                                queue = Arrays.copyOf(queue, tail * 2);
+                            }
+                            queue[tail++] = w;
+                        }
+                    }
+                }
+            }
+            return tail - 1;
+        }
+
+        /**
+         * Marks a vertex as visited by the current search
+         *
+         * @param v the dense id of the vertex
+         * @return {@code true} if {@code v} had not been visited yet
+         */
+        private boolean mark(int v) {
+            if(seen != null) {
+                return seen.add(v);
+            }
+            if(stamp[v] == generation) {
+                return false;
+            }
+            stamp[v] = generation;
+            return true;
+        }
+    }
+}
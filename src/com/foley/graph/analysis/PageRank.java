@@ -0,0 +1,267 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes PageRank and personalized PageRank by power iteration. Ranks are pulled along the incoming edges of each
+ * vertex from a transposed compact graph, so every vertex's new rank is written by exactly one task and no
+ * synchronization is needed inside an iteration. Vertices are split into ranges that are processed on a fork-join pool.
+ * <p>
+ * Rank held by vertices without outgoing edges is redistributed along the teleport vector on every iteration, so the
+ * scores always sum to one. Iteration stops once the L1 change between two iterations falls below the tolerance or the
+ * iteration limit is reached
+ *
+ * @param <V> The type of vertices in the graph
+ */
+public class PageRank<V> {
+    /**
+     * The probability of following an edge instead of teleporting, used when none is specified
+     */
+    public static final double DEFAULT_DAMPING = 0.85;
+
+    /**
+     * The L1 change in rank below which iteration stops, used when none is specified
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+
+    /**
+     * The maximum number of iterations, used when none is specified
+     */
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    private CompactGraph<V> g;
+    private int[] inOffsets;
+    private int[] inSources;
+    private ForkJoinPool pool;
+    private double damping;
+    private double tolerance;
+    private int maxIterations;
+    private int iterations;
+
+    /**
+     * Creates a new PageRank engine over a compact graph that runs on the common fork-join pool
+     *
+     * @param g the graph to rank
+     */
+    public PageRank(CompactGraph<V> g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new PageRank engine over a compact graph
+     *
+     * @param g the graph to rank
+     * @param pool the pool to run iterations on
+     */
+    public PageRank(CompactGraph<V> g, ForkJoinPool pool) {
+        if(g == null || pool == null) {
+            throw new IllegalArgumentException("cannot rank a null graph or run on a null pool");
+        }
+        this.g = g;
+        this.pool = pool;
+        var in = g.transpose();
+        inOffsets = in.offsets();
+        inSources = in.targets();
+        damping = DEFAULT_DAMPING;
+        tolerance = DEFAULT_TOLERANCE;
+        maxIterations = DEFAULT_MAX_ITERATIONS;
+    }
+
+    /**
+     * Creates a new PageRank engine over {@code g}
+     *
+     * @param g the graph to rank
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a new PageRank engine over {@code g}
+     */
+    public static <V, E> PageRank<V> of(Graph<V, E> g) {
+        return new PageRank<>(CompactGraph.of(g));
+    }
+
+    /**
+     * Sets the probability of following an edge instead of teleporting
+     *
+     * @param damping the damping factor, in {@code [0, 1)}
+     */
+    public void setDamping(double damping) {
+        if(damping < 0 || damping >= 1) {
+            throw new IllegalArgumentException("damping must be at least 0 and less than 1");
+        }
+        this.damping = damping;
+    }
+
+    /**
+     * Sets the L1 change in rank below which iteration stops
+     *
+     * @param tolerance the convergence tolerance
+     */
+    public void setTolerance(double tolerance) {
+        if(tolerance < 0) {
+            throw new IllegalArgumentException("tolerance cannot be negative");
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Sets the maximum number of iterations
+     *
+     * @param maxIterations the maximum number of iterations
+     */
+    public void setMaxIterations(int maxIterations) {
+        if(maxIterations < 1) {
+            throw new IllegalArgumentException("at least one iteration is required");
+        }
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Gets the number of iterations the last computation ran for
+     *
+     * @return the number of iterations the last computation ran for
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Computes the PageRank of every vertex
+     *
+     * @return the PageRank of every vertex
+     */
+    public Map<V, Double> compute() {
+        int n = g.vertexCount();
+        double[] teleport = new double[n];
+        Arrays.fill(teleport, 1.0 / n);
+        return toMap(computeScores(teleport));
+    }
+
+    /**
+     * Computes PageRank personalized to a set of seed vertices. Every teleport lands on one of the seeds
+     *
+     * @param seeds the vertices to teleport to
+     * @return the personalized PageRank of every vertex
+     */
+    public Map<V, Double> computePersonalized(Set<V> seeds) {
+        if(seeds == null) {
+            throw new IllegalArgumentException("cannot personalize to a null set of seeds");
+        }
+        var weights = new HashMap<V, Double>();
+        for(V v : seeds) {
+            weights.put(v, 1.0);
+        }
+        return computePersonalized(weights);
+    }
+
+    /**
+     * Computes PageRank personalized to a weighted set of vertices. Teleports land on each vertex in proportion to its
+     * weight
+     *
+     * @param weights the teleport weight of each vertex; vertices that are left out have a weight of zero
+     * @return the personalized PageRank of every vertex
+     */
+    public Map<V, Double> computePersonalized(Map<V, Double> weights) {
+        if(weights == null) {
+            throw new IllegalArgumentException("cannot personalize to null weights");
+        }
+        double[] teleport = new double[g.vertexCount()];
+        double total = 0;
+        for(var entry : weights.entrySet()) {
+            int id = g.id(entry.getKey());
+            if(id < 0) {
+                throw new IllegalArgumentException("personalization vertex " + entry.getKey() + " is not in the graph");
+            }
+            if(entry.getValue() < 0) {
+                throw new IllegalArgumentException("personalization weights cannot be negative");
+            }
+            teleport[id] = entry.getValue();
+            total += entry.getValue();
+        }
+        if(total <= 0) {
+            throw new IllegalArgumentException("personalization weights must have a positive sum");
+        }
+        for(int i = 0; i < teleport.length; i++) {
+            teleport[i] /= total;
+        }
+        return toMap(computeScores(teleport));
+    }
+
+    /**
+     * Computes PageRank with an arbitrary teleport distribution, indexed by dense vertex id
+     *
+     * @param teleport the probability of teleporting to each vertex; must sum to one
+     * @return the rank of each vertex, indexed by dense vertex id
+     */
+    public double[] computeScores(double[] teleport) {
+        int n = g.vertexCount();
+        if(teleport == null || teleport.length != n) {
+            throw new IllegalArgumentException("the teleport vector must have one entry per vertex");
+        }
+        double[] rank = teleport.clone();
+        double[] next = new double[n];
+        double[] contrib = new double[n];
+        int[] offsets = g.offsets();
+        iterations = 0;
+        int grain = Math.max(1024, n / (pool.getParallelism() * 8));
+        while(iterations < maxIterations) {
+            final double[] cur = rank;
+            final double[] out = next;
+            // Spread each vertex's rank over its outgoing edges, collecting the rank of dangling vertices
+            double dangling = pool.invoke(new RangeTask(0, n, grain, (from, to) -> {
+                double sum = 0;
+                for(int u = from; u < to; u++) {
+                    int degree = offsets[u + 1] - offsets[u];
+                    if(degree == 0) {
+                        contrib[u] = 0;
+                        sum += cur[u];
+                    } else {
+                        contrib[u] = cur[u] / degree;
+                    }
+                }
+                return sum;
+            }));
+            // Pull the spread rank along incoming edges
+            double delta = pool.invoke(new RangeTask(0, n, grain, (from, to) -> {
+                double sum = 0;
+                for(int v = from; v < to; v++) {
+                    double pulled = 0;
+                    for(int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                        pulled += contrib[inSources[e]];
+                    }
+                    double r = (1 - damping) * teleport[v] + damping * (pulled + dangling * teleport[v]);
+                    sum += Math.abs(r - cur[v]);
+                    out[v] = r;
+                }
+                return sum;
+            }));
+            rank = out;
+            next = cur;
+            iterations++;
+            if(delta < tolerance) {
+                break;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Keys a score array back to the graph's vertices
+     *
+     * @param scores the score of each vertex, indexed by dense vertex id
+     * @return the score of each vertex
+     */
+    private Map<V, Double> toMap(double[] scores) {
+        var map = new HashMap<V, Double>(scores.length * 2);
+        for(int i = 0; i < scores.length; i++) {
+            map.put(g.vertex(i), scores[i]);
+        }
+        return map;
+    }
+}
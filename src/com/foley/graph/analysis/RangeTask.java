@@ -0,0 +1,57 @@
+package com.foley.graph.analysis;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Splits a range of vertex ids in half until it is no larger than the grain, runs a kernel on each piece on the
+ * fork-join pool, and sums the results
+ */
+class RangeTask extends RecursiveTask<Double> {
+    private static final long serialVersionUID = 1L;
+
+    private int from;
+    private int to;
+    private int grain;
+    private Kernel kernel;
+
+    /**
+     * Creates a new range task
+     *
+     * @param from the first vertex id
+     * @param to one past the last vertex id
+     * @param grain the largest range that is processed without splitting
+     * @param kernel the work to run on each piece
+     */
+    RangeTask(int from, int to, int grain, Kernel kernel) {
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+        this.kernel = kernel;
+    }
+
+    @Override
+    protected Double compute() {
+        if(to - from <= grain) {
+            return kernel.apply(from, to);
+        }
+        int mid = (from + to) >>> 1;
+        var left = new RangeTask(from, mid, grain, kernel);
+        left.fork();
+        double right = new RangeTask(mid, to, grain, kernel).compute();
+        return left.join() + right;
+    }
+
+    /**
+     * Computes a partial sum over a range of vertex ids
+     */
+    interface Kernel {
+        /**
+         * Processes the vertices in {@code [from, to)}
+         *
+         * @param from the first vertex id
+         * @param to one past the last vertex id
+         * @return the partial sum for the range
+         */
+        double apply(int from, int to);
+    }
+}
@@ -0,0 +1,105 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.compact.CompactGraph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The undirected neighbors of every vertex of a compact graph, as rows of sorted, distinct dense ids. An edge in either
+ * direction makes two vertices neighbors, and self loops are dropped. Sorted rows let neighbor sets be intersected by
+ * merging rather than by hashing
+ */
+class SortedAdjacency {
+    private int[] offsets;
+    private int[] neighbors;
+
+    /**
+     * Creates a new sorted adjacency from already built rows
+     *
+     * @param offsets the start of each vertex's row in {@code neighbors}, with a final entry equal to its length
+     * @param neighbors the rows of sorted, distinct neighbor ids
+     */
+    SortedAdjacency(int[] offsets, int[] neighbors) {
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Builds the sorted undirected adjacency of a compact graph, sorting the rows in parallel
+     *
+     * @param g the graph to build from
+     * @return the sorted undirected adjacency of {@code g}
+     */
+    static SortedAdjacency of(CompactGraph<?> g) {
+        int n = g.vertexCount();
+        var t = g.transpose();
+        int[] out = g.offsets();
+        int[] in = t.offsets();
+        int[] scratch = new int[g.edgeCount() * 2];
+        int[] lengths = new int[n];
+        // Each row is first gathered at the position its out-edges and in-edges would take together, then sorted and
+        // deduplicated in place
+        IntStream.range(0, n).parallel().forEach(v -> {
+            int start = out[v] + in[v];
+            int outDegree = out[v + 1] - out[v];
+            int inDegree = in[v + 1] - in[v];
+            System.arraycopy(g.targets(), out[v], scratch, start, outDegree);
+            System.arraycopy(t.targets(), in[v], scratch, start + outDegree, inDegree);
+            Arrays.sort(scratch, start, start + outDegree + inDegree);
+            int length = 0;
+            for(int i = start; i < start + outDegree + inDegree; i++) {
+                int w = scratch[i];
+                if(w != v && (length == 0 || scratch[start + length - 1] != w)) {
+                    scratch[start + length++] = w;
+                }
+            }
+            lengths[v] = length;
+        });
+        int[] offsets = new int[n + 1];
+        for(int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + lengths[v];
+        }
+        int[] neighbors = new int[offsets[n]];
+        IntStream.range(0, n).parallel()
+                .forEach(v -> System.arraycopy(scratch, out[v] + in[v], neighbors, offsets[v], lengths[v]));
+        return new SortedAdjacency(offsets, neighbors);
+    }
+
+    /**
+     * Gets the number of vertices
+     *
+     * @return the number of vertices
+     */
+    int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Gets the number of undirected neighbors of a vertex
+     *
+     * @param v the dense id of the vertex
+     * @return the number of neighbors of {@code v}
+     */
+    int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Gets the start of each vertex's row. The array must not be modified
+     *
+     * @return the row offsets, with a final entry equal to the length of {@link #neighbors()}
+     */
+    int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the rows of sorted neighbor ids. The array must not be modified
+     *
+     * @return the rows of sorted neighbor ids
+     */
+    int[] neighbors() {
+        return neighbors;
+    }
+}
@@ -0,0 +1,185 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The strongly connected components of a graph, found with an iterative version of Tarjan's algorithm. The explicit
+ * stacks mean that the depth of the graph is limited by heap space instead of the thread's call stack.
+ * <p>
+ * Components are numbered in the order Tarjan's algorithm completes them, which is a reverse topological order of the
+ * condensation: if an edge leads from component {@code a} to a different component {@code b}, then {@code b < a}
+ *
+ * @param <V> The type of vertices in the graph
+ */
+public class StronglyConnectedComponents<V> {
+    private CompactGraph<V> g;
+    private int[] component;
+    private int count;
+
+    /**
+     * Finds the strongly connected components of a compact graph
+     *
+     * @param g the graph to analyze
+     */
+    public StronglyConnectedComponents(CompactGraph<V> g) {
+        if(g == null) {
+            throw new IllegalArgumentException("cannot find the components of a null graph");
+        }
+        this.g = g;
+        tarjan();
+    }
+
+    /**
+     * Finds the strongly connected components of {@code g}
+     *
+     * @param g the graph to analyze
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return the strongly connected components of {@code g}
+     */
+    public static <V, E> StronglyConnectedComponents<V> of(Graph<V, E> g) {
+        return new StronglyConnectedComponents<>(CompactGraph.of(g));
+    }
+
+    /**
+     * Gets the compact graph the components were computed over
+     *
+     * @return the compact graph the components were computed over
+     */
+    public CompactGraph<V> getGraph() {
+        return g;
+    }
+
+    /**
+     * The number of strongly connected components
+     *
+     * @return the number of strongly connected components
+     */
+    public int componentCount() {
+        return count;
+    }
+
+    /**
+     * Gets the component id of vertex {@code v}
+     *
+     * @param v the vertex to look up
+     * @return the component id of {@code v}, or {@code -1} if {@code v} is not in the graph
+     */
+    public int componentOf(V v) {
+        int id = g.id(v);
+        return id < 0 ? -1 : component[id];
+    }
+
+    /**
+     * Gets the component id of every vertex, indexed by the vertex's dense id in the compact graph. The array must not
+     * be modified
+     *
+     * @return the component id of every vertex
+     */
+    public int[] componentIds() {
+        return component;
+    }
+
+    /**
+     * Returns {@code true} if {@code v1} and {@code v2} are in the same strongly connected component
+     *
+     * @param v1 the first vertex
+     * @param v2 the second vertex
+     * @return {@code true} if each vertex can reach the other
+     */
+    public boolean stronglyConnected(V v1, V v2) {
+        int c = componentOf(v1);
+        return c >= 0 && c == componentOf(v2);
+    }
+
+    /**
+     * Gets the vertices of every component, indexed by component id
+     *
+     * @return the vertices of every component
+     */
+    public List<Set<V>> components() {
+        var sets = new ArrayList<Set<V>>(count);
+        for(int i = 0; i < count; i++) {
+            sets.add(new HashSet<>());
+        }
+        for(int v = 0; v < component.length; v++) {
+            sets.get(component[v]).add(g.vertex(v));
+        }
+        return sets;
+    }
+
+    /**
+     * Runs Tarjan's algorithm with explicit call and component stacks
+     */
+    private void tarjan() {
+        int n = g.vertexCount();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] next = new int[n];
+        int[] callStack = new int[n];
+        int[] sccStack = new int[n];
+        boolean[] onStack = new boolean[n];
+        component = new int[n];
+        Arrays.fill(index, -1);
+        int counter = 0;
+        int sccTop = 0;
+        for(int root = 0; root < n; root++) {
+            if(index[root] >= 0) {
+                continue;
+            }
+            int callTop = 0;
+            callStack[callTop++] = root;
+            index[root] = low[root] = counter++;
+            next[root] = offsets[root];
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+            while(callTop > 0) {
+                int v = callStack[callTop - 1];
+                boolean descended = false;
+                while(next[v] < offsets[v + 1]) {
+                    int w = targets[next[v]++];
+                    if(index[w] < 0) {
+                        index[w] = low[w] = counter++;
+                        next[w] = offsets[w];
+                        sccStack[sccTop++] = w;
+                        onStack[w] = true;
+                        callStack[callTop++] = w;
+                        descended = true;
+                        break;
+                    } else if(onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                }
+                if(descended) {
+                    continue;
+                }
+                // Every edge of v has been explored
+                if(low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack[w] = false;
+                        component[w] = count;
+                    } while(w != v);
+                    count++;
+                }
+                callTop--;
+                if(callTop > 0) {
+                    int p = callStack[callTop - 1];
+                    if(low[v] < low[p]) {
+                        low[p] = low[v];
+                    }
+                }
+            }
+        }
+    }
+}
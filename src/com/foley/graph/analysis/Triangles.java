@@ -0,0 +1,362 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Counts the triangles of a graph, treating every edge as undirected, and derives clustering coefficients from them.
+ * <p>
+ * Every edge is oriented from the endpoint of lower degree to the endpoint of higher degree, breaking ties by id. Each
+ * triangle then has exactly one vertex with edges to both others, so it is found exactly once, and no vertex has more
+ * than {@code O(sqrt(m))} outgoing edges. Triangles through {@code v} are found by intersecting the oriented neighbors
+ * of {@code v} with those of each of its oriented neighbors. Rows of similar length are merged; a short row is galloped
+ * through a much longer one; and the rows of hubs are marked in a bitmap, which every neighbor's row is tested against.
+ * Vertices are processed in parallel, and counts are computed the first time they are asked for
+ *
+ * @param <V> The type of vertices in the graph
+ */
+public class Triangles<V> {
+    /**
+     * The oriented degree at or above which a vertex's neighbors are intersected through a bitmap
+     */
+    public static final int HUB_DEGREE = 256;
+
+    /**
+     * The length ratio above which the shorter of two rows is galloped through the longer one instead of merged
+     */
+    private static final int GALLOP_RATIO = 16;
+
+    private CompactGraph<V> g;
+    private ForkJoinPool pool;
+    private SortedAdjacency adjacency;
+    private AtomicLongArray counts;
+    private long total;
+
+    /**
+     * Creates a new triangle counter over a compact graph that runs on the common fork-join pool
+     *
+     * @param g the graph to analyze
+     */
+    public Triangles(CompactGraph<V> g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new triangle counter over a compact graph
+     *
+     * @param g the graph to analyze
+     * @param pool the pool to count on
+     */
+    public Triangles(CompactGraph<V> g, ForkJoinPool pool) {
+        if(g == null || pool == null) {
+            throw new IllegalArgumentException("cannot count triangles in a null graph or on a null pool");
+        }
+        this.g = g;
+        this.pool = pool;
+        adjacency = SortedAdjacency.of(g);
+    }
+
+    /**
+     * Creates a new triangle counter over {@code g}
+     *
+     * @param g the graph to analyze
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a new triangle counter over {@code g}
+     */
+    public static <V, E> Triangles<V> of(Graph<V, E> g) {
+        return new Triangles<>(CompactGraph.of(g));
+    }
+
+    /**
+     * Gets the number of triangles in the graph
+     *
+     * @return the number of triangles in the graph
+     */
+    public long getTriangleCount() {
+        count();
+        return total;
+    }
+
+    /**
+     * Gets the number of triangles vertex {@code v} is part of
+     *
+     * @param v the vertex to check
+     * @return the number of triangles through {@code v}
+     */
+    public long getTriangleCount(V v) {
+        return count().get(idOf(v));
+    }
+
+    /**
+     * Gets the local clustering coefficient of vertex {@code v}: the fraction of pairs of its neighbors that are
+     * themselves neighbors
+     *
+     * @param v the vertex to check
+     * @return the clustering coefficient of {@code v}, or {@code 0} if it has fewer than two neighbors
+     */
+    public double getClusteringCoefficient(V v) {
+        return clustering(idOf(v));
+    }
+
+    /**
+     * Computes the local clustering coefficient of every vertex
+     *
+     * @return the clustering coefficient of every vertex
+     */
+    public Map<V, Double> getClusteringCoefficients() {
+        count();
+        int n = g.vertexCount();
+        var map = new HashMap<V, Double>(n * 2);
+        for(int v = 0; v < n; v++) {
+            map.put(g.vertex(v), clustering(v));
+        }
+        return map;
+    }
+
+    /**
+     * Gets the mean of the local clustering coefficients of every vertex
+     *
+     * @return the average clustering coefficient, or {@code 0} if the graph is empty
+     */
+    public double getAverageClustering() {
+        count();
+        int n = g.vertexCount();
+        return n == 0 ? 0 : IntStream.range(0, n).mapToDouble(this::clustering).sum() / n;
+    }
+
+    /**
+     * Gets the transitivity of the graph: the fraction of paths of length two whose ends are also neighbors
+     *
+     * @return the global clustering coefficient, or {@code 0} if the graph has no paths of length two
+     */
+    public double getTransitivity() {
+        count();
+        double wedges = 0;
+        for(int v = 0; v < g.vertexCount(); v++) {
+            long d = adjacency.degree(v);
+            wedges += d * (d - 1) / 2.0;
+        }
+        return wedges == 0 ? 0 : 3.0 * total / wedges;
+    }
+
+    /**
+     * Gets the dense id of a vertex
+     *
+     * @param v the vertex
+     * @return the dense id of {@code v}
+     */
+    private int idOf(V v) {
+        int id = g.id(v);
+        if(id < 0) {
+            throw new IllegalArgumentException("vertex " + v + " is not in the graph");
+        }
+        return id;
+    }
+
+    /**
+     * Computes the local clustering coefficient of a vertex from its triangle count
+     *
+     * @param v the dense id of the vertex
+     * @return the clustering coefficient of {@code v}
+     */
+    private double clustering(int v) {
+        long d = adjacency.degree(v);
+        return d < 2 ? 0 : 2.0 * count().get(v) / (d * (d - 1));
+    }
+
+    /**
+     * Counts the triangles through every vertex, if they have not been counted yet
+     *
+     * @return the number of triangles through every vertex
+     */
+    private synchronized AtomicLongArray count() {
+        if(counts != null) {
+            return counts;
+        }
+        int n = adjacency.vertexCount();
+        int[] offsets = adjacency.offsets();
+        int[] neighbors = adjacency.neighbors();
+        // Keep only the neighbors ranked above each vertex. Filtering a sorted row leaves it sorted
+        int[] lengths = new int[n];
+        IntStream.range(0, n).parallel().forEach(v -> {
+            for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if(ranksAbove(neighbors[e], v)) {
+                    lengths[v]++;
+                }
+            }
+        });
+        int[] fo = new int[n + 1];
+        for(int v = 0; v < n; v++) {
+            fo[v + 1] = fo[v] + lengths[v];
+        }
+        int[] fwd = new int[fo[n]];
+        IntStream.range(0, n).parallel().forEach(v -> {
+            int i = fo[v];
+            for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if(ranksAbove(neighbors[e], v)) {
+                    fwd[i++] = neighbors[e];
+                }
+            }
+        });
+        var perVertex = new AtomicLongArray(n);
+        int grain = Math.max(1, n / (pool.getParallelism() * 16));
+        // Each range of vertices gets its own hub bitmap, which is cleared after every hub
+        double sum = n == 0 ? 0 : pool.invoke(new RangeTask(0, n, grain, (from, to) -> {
+            long[] bitmap = null;
+            long found = 0;
+            for(int v = from; v < to; v++) {
+                int a = fo[v];
+                int aEnd = fo[v + 1];
+                long atV = 0;
+                if(aEnd - a >= HUB_DEGREE) {
+                    if(bitmap == null) {
+                        bitmap = new long[(n + 63) >>> 6];
+                    }
+                    for(int i = a; i < aEnd; i++) {
+                        bitmap[fwd[i] >>> 6] |= 1L << fwd[i];
+                    }
+                    for(int i = a; i < aEnd; i++) {
+                        int u = fwd[i];
+                        long atU = 0;
+                        for(int j = fo[u]; j < fo[u + 1]; j++) {
+                            int w = fwd[j];
+                            if((bitmap[w >>> 6] & (1L << w)) != 0) {
+                                perVertex.incrementAndGet(w);
+                                atU++;
+                            }
+                        }
+                        if(atU > 0) {
+                            perVertex.addAndGet(u, atU);
+                            atV += atU;
+                        }
+                    }
+                    for(int i = a; i < aEnd; i++) {
+                        bitmap[fwd[i] >>> 6] = 0;
+                    }
+                } else {
+                    for(int i = a; i < aEnd; i++) {
+                        int u = fwd[i];
+                        long atU = intersect(fwd, a, aEnd, fo[u], fo[u + 1], perVertex);
+                        if(atU > 0) {
+                            perVertex.addAndGet(u, atU);
+                            atV += atU;
+                        }
+                    }
+                }
+                if(atV > 0) {
+                    perVertex.addAndGet(v, atV);
+                    found += atV;
+                }
+            }
+            return found;
+        }));
+        total = (long)sum;
+        counts = perVertex;
+        return counts;
+    }
+
+    /**
+     * Returns {@code true} if vertex {@code u} comes after vertex {@code v} in the orientation order: higher degree
+     * first, then higher id
+     *
+     * @param u the dense id of one vertex
+     * @param v the dense id of the other vertex
+     * @return {@code true} if edges between the two are oriented from {@code v} to {@code u}
+     */
+    private boolean ranksAbove(int u, int v) {
+        int du = adjacency.degree(u);
+        int dv = adjacency.degree(v);
+        return du > dv || (du == dv && u > v);
+    }
+
+    /**
+     * Counts the ids two sorted rows have in common, adding one to the triangle count of each. Rows of very different
+     * lengths are galloped, others are merged
+     *
+     * @param rows the array holding both rows
+     * @param a the start of the first row
+     * @param aEnd one past the end of the first row
+     * @param b the start of the second row
+     * @param bEnd one past the end of the second row
+     * @param perVertex the triangle count of every vertex
+     * @return the number of common ids
+     */
+    private static long intersect(int[] rows, int a, int aEnd, int b, int bEnd, AtomicLongArray perVertex) {
+        int aLength = aEnd - a;
+        int bLength = bEnd - b;
+        if(aLength == 0 || bLength == 0) {
+            return 0;
+        }
+        if(aLength > bLength * GALLOP_RATIO) {
+            return gallop(rows, b, bEnd, a, aEnd, perVertex);
+        }
+        if(bLength > aLength * GALLOP_RATIO) {
+            return gallop(rows, a, aEnd, b, bEnd, perVertex);
+        }
+        long common = 0;
+        while(a < aEnd && b < bEnd) {
+            int x = rows[a];
+            int y = rows[b];
+            if(x < y) {
+                a++;
+            } else if(x > y) {
+                b++;
+            } else {
+                perVertex.incrementAndGet(x);
+                common++;
+                a++;
+                b++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Counts the ids a short sorted row has in common with a long one, by searching for each id of the short row with
+     * exponentially growing steps from where the previous search ended
+     *
+     * @param rows the array holding both rows
+     * @param s the start of the short row
+     * @param sEnd one past the end of the short row
+     * @param l the start of the long row
+     * @param lEnd one past the end of the long row
+     * @param perVertex the triangle count of every vertex
+     * @return the number of common ids
+     */
+    private static long gallop(int[] rows, int s, int sEnd, int l, int lEnd, AtomicLongArray perVertex) {
+        long common = 0;
+        for(; s < sEnd && l < lEnd; s++) {
+            int x = rows[s];
+            // Find a bound past x, then binary search the last step
+            int step = 1;
+            int hi = l;
+            while(hi < lEnd && rows[hi] < x) {
+                l = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            hi = Math.min(hi, lEnd - 1);
+            while(l < hi) {
+                int mid = (l + hi) >>> 1;
+                if(rows[mid] < x) {
+                    l = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            if(l < lEnd && rows[l] == x) {
+                perVertex.incrementAndGet(x);
+                common++;
+                l++;
+            }
+        }
+        return common;
+    }
+}
@@ -0,0 +1,191 @@
+package com.foley.graph.analysis;
+
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * The weakly connected components of a graph, in which edge direction is ignored. Components are found in parallel in
+ * the style of Shiloach and Vishkin: every edge hooks the root of one endpoint's tree onto the root of the other with a
+ * compare-and-set, always linking the larger root under the smaller one, and trees are flattened with path halving as
+ * they are searched. No locks are taken, and each edge is looked at once.
+ * <p>
+ * Component ids are dense and numbered in order of the smallest vertex id they contain
+ *
+ * @param <V> The type of vertices in the graph
+ */
+public class WeaklyConnectedComponents<V> {
+    private CompactGraph<V> g;
+    private int[] component;
+    private int count;
+
+    /**
+     * Finds the weakly connected components of a compact graph
+     *
+     * @param g the graph to analyze
+     */
+    public WeaklyConnectedComponents(CompactGraph<V> g) {
+        if(g == null) {
+            throw new IllegalArgumentException("cannot find the components of a null graph");
+        }
+        this.g = g;
+        hookAndCompress();
+    }
+
+    /**
+     * Finds the weakly connected components of {@code g}
+     *
+     * @param g the graph to analyze
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return the weakly connected components of {@code g}
+     */
+    public static <V, E> WeaklyConnectedComponents<V> of(Graph<V, E> g) {
+        return new WeaklyConnectedComponents<>(CompactGraph.of(g));
+    }
+
+    /**
+     * Gets the compact graph the components were computed over
+     *
+     * @return the compact graph the components were computed over
+     */
+    public CompactGraph<V> getGraph() {
+        return g;
+    }
+
+    /**
+     * The number of weakly connected components
+     *
+     * @return the number of weakly connected components
+     */
+    public int componentCount() {
+        return count;
+    }
+
+    /**
+     * Gets the component id of vertex {@code v}
+     *
+     * @param v the vertex to look up
+     * @return the component id of {@code v}, or {@code -1} if {@code v} is not in the graph
+     */
+    public int componentOf(V v) {
+        int id = g.id(v);
+        return id < 0 ? -1 : component[id];
+    }
+
+    /**
+     * Gets the component id of every vertex, indexed by the vertex's dense id in the compact graph. The array must not
+     * be modified
+     *
+     * @return the component id of every vertex
+     */
+    public int[] componentIds() {
+        return component;
+    }
+
+    /**
+     * Returns {@code true} if {@code v1} and {@code v2} are connected when edge direction is ignored
+     *
+     * @param v1 the first vertex
+     * @param v2 the second vertex
+     * @return {@code true} if both vertices are in the same weakly connected component
+     */
+    public boolean connected(V v1, V v2) {
+        int c = componentOf(v1);
+        return c >= 0 && c == componentOf(v2);
+    }
+
+    /**
+     * Gets the vertices of every component, indexed by component id
+     *
+     * @return the vertices of every component
+     */
+    public List<Set<V>> components() {
+        var sets = new ArrayList<Set<V>>(count);
+        for(int i = 0; i < count; i++) {
+            sets.add(new HashSet<>());
+        }
+        for(int v = 0; v < component.length; v++) {
+            sets.get(component[v]).add(g.vertex(v));
+        }
+        return sets;
+    }
+
+    /**
+     * Hooks every edge in parallel, then compresses every tree to its root and renumbers the roots densely
+     */
+    private void hookAndCompress() {
+        int n = g.vertexCount();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        var parent = new AtomicIntegerArray(n);
+        for(int v = 0; v < n; v++) {
+            parent.set(v, v);
+        }
+        IntStream.range(0, n).parallel().forEach(v -> {
+            for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                hook(parent, v, targets[e]);
+            }
+        });
+        component = new int[n];
+        IntStream.range(0, n).parallel().forEach(v -> component[v] = find(parent, v));
+        // Roots are the smallest id in their tree, so a root is always seen before the rest of its component
+        int[] dense = new int[n];
+        for(int v = 0; v < n; v++) {
+            if(component[v] == v) {
+                dense[v] = count++;
+            }
+            component[v] = dense[component[v]];
+        }
+    }
+
+    /**
+     * Links the trees containing {@code u} and {@code w}
+     *
+     * @param parent the shared forest
+     * @param u an endpoint of the edge
+     * @param w the other endpoint of the edge
+     */
+    static void hook(AtomicIntegerArray parent, int u, int w) {
+        while(true) {
+            int ru = find(parent, u);
+            int rw = find(parent, w);
+            if(ru == rw) {
+                return;
+            }
+            int hi = Math.max(ru, rw);
+            int lo = Math.min(ru, rw);
+            // Only a root can be hooked; if hi stopped being a root, look again
+            if(parent.compareAndSet(hi, hi, lo)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the root of the tree containing {@code v}, halving the path to it along the way
+     *
+     * @param parent the shared forest
+     * @param v the vertex to look up
+     * @return the root of the tree containing {@code v}
+     */
+    static int find(AtomicIntegerArray parent, int v) {
+        while(true) {
+            int p = parent.get(v);
+            if(p == v) {
+                return v;
+            }
+            int gp = parent.get(p);
+            if(p != gp) {
+                parent.compareAndSet(v, p, gp);
+            }
+            v = gp;
+        }
+    }
+}
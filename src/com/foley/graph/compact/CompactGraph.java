@@ -0,0 +1,315 @@
+package com.foley.graph.compact;
+
+import com.foley.graph.core.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An immutable, array backed snapshot of a graph in compressed sparse row form. Every vertex is given a dense integer
+ * id in {@code [0, vertexCount())}, and the destinations of the edges leaving vertex {@code v} are stored in
+ * {@code targets()[offsets()[v]]} through {@code targets()[offsets()[v + 1] - 1]}. Edge weights, when present, are
+ * stored in a parallel {@code double} array. Analytics run over this form so that their inner loops touch primitive
+ * arrays instead of hash maps and boxed costs
+ *
+ * @param <V> The type of vertices in the graph
+ */
+public class CompactGraph<V> {
+    private List<V> vertices;
+    private Map<V, Integer> ids;
+    private int[] offsets;
+    private int[] targets;
+    private double[] weights;
+
+    /**
+     * Creates a new compact graph from already built arrays. The arrays are used as is and must not be modified after
+     * they are handed over
+     *
+     * @param vertices the vertex for each dense id
+     * @param offsets the start of each vertex's edges in {@code targets}, with a final entry equal to the edge count
+     * @param targets the destination id of each edge
+     * @param weights the weight of each edge, or {@code null} for an unweighted graph
+     */
+    public CompactGraph(List<V> vertices, int[] offsets, int[] targets, double[] weights) {
+        if(vertices == null || offsets == null || targets == null) {
+            throw new IllegalArgumentException("cannot build a compact graph from null arrays");
+        }
+        if(offsets.length != vertices.size() + 1 || offsets[vertices.size()] != targets.length) {
+            throw new IllegalArgumentException("offsets must have one entry per vertex plus one for the edge count");
+        }
+        if(weights != null && weights.length != targets.length) {
+            throw new IllegalArgumentException("there must be exactly one weight per edge");
+        }
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        ids = new HashMap<>(vertices.size() * 2);
+        for(int i = 0; i < vertices.size(); i++) {
+            ids.put(vertices.get(i), i);
+        }
+    }
+
+    /**
+     * Creates a new compact graph that shares its vertex numbering with another compact graph
+     *
+     * @param vertices the vertex for each dense id
+     * @param ids the dense id for each vertex
+     * @param offsets the start of each vertex's edges in {@code targets}
+     * @param targets the destination id of each edge
+     * @param weights the weight of each edge, or {@code null} for an unweighted graph
+     */
+    private CompactGraph(List<V> vertices, Map<V, Integer> ids, int[] offsets, int[] targets, double[] weights) {
+        this.vertices = vertices;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds an unweighted compact snapshot of {@code g}
+     *
+     * @param g the graph to snapshot
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a compact snapshot of {@code g}
+     */
+    public static <V, E> CompactGraph<V> of(Graph<V, E> g) {
+        return of(g, null);
+    }
+
+    /**
+     * Builds a weighted compact snapshot of {@code g}, converting each edge cost with {@code weigher}
+     *
+     * @param g the graph to snapshot
+     * @param weigher converts an edge cost to a weight, or {@code null} to build an unweighted snapshot
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a compact snapshot of {@code g}
+     */
+    public static <V, E> CompactGraph<V> of(Graph<V, E> g, ToDoubleFunction<? super E> weigher) {
+        if(g == null) {
+            throw new IllegalArgumentException("cannot build a compact graph from a null graph");
+        }
+        var vertices = new ArrayList<V>(g.getVertices());
+        var ids = new HashMap<V, Integer>(vertices.size() * 2);
+        for(int i = 0; i < vertices.size(); i++) {
+            ids.put(vertices.get(i), i);
+        }
+        int[] offsets = new int[vertices.size() + 1];
+        var adjacency = new ArrayList<int[]>(vertices.size());
+        var costs = new ArrayList<double[]>(weigher == null ? 0 : vertices.size());
+        for(int i = 0; i < vertices.size(); i++) {
+            V v = vertices.get(i);
+            var adj = g.getAdjacent(v);
+            int[] row = new int[adj == null ? 0 : adj.size()];
+            double[] rowCosts = weigher == null ? null : new double[row.length];
+            int j = 0;
+            if(adj != null) {
+                for(V w : adj) {
+                    if(rowCosts != null) {
+                        rowCosts[j] = weigher.applyAsDouble(g.getEdgeCost(v, w));
+                    }
+                    row[j++] = ids.get(w);
+                }
+            }
+            adjacency.add(row);
+            if(rowCosts != null) {
+                costs.add(rowCosts);
+            }
+            offsets[i + 1] = offsets[i] + row.length;
+        }
+        int[] targets = new int[offsets[vertices.size()]];
+        double[] weights = weigher == null ? null : new double[targets.length];
+        for(int i = 0; i < vertices.size(); i++) {
+            System.arraycopy(adjacency.get(i), 0, targets, offsets[i], offsets[i + 1] - offsets[i]);
+            if(weights != null) {
+                System.arraycopy(costs.get(i), 0, weights, offsets[i], offsets[i + 1] - offsets[i]);
+            }
+        }
+        return new CompactGraph<>(vertices, ids, offsets, targets, weights);
+    }
+
+    /**
+     * The number of vertices in the graph
+     *
+     * @return the number of vertices in the graph
+     */
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * The number of edges in the graph
+     *
+     * @return the number of edges in the graph
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Gets the vertex with dense id {@code id}
+     *
+     * @param id the dense id of the vertex
+     * @return the vertex with dense id {@code id}
+     */
+    public V vertex(int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * Gets the dense id of vertex {@code v}
+     *
+     * @param v the vertex to look up
+     * @return the dense id of {@code v}, or {@code -1} if {@code v} is not in the graph
+     */
+    public int id(V v) {
+        return ids.getOrDefault(v, -1);
+    }
+
+    /**
+     * Gets the vertices of the graph ordered by dense id
+     *
+     * @return an unmodifiable list of the vertices ordered by dense id
+     */
+    public List<V> vertices() {
+        return Collections.unmodifiableList(vertices);
+    }
+
+    /**
+     * The number of edges leaving vertex {@code id}
+     *
+     * @param id the dense id of the source vertex
+     * @return the number of edges leaving the vertex
+     */
+    public int outDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Gets the backing row offsets array. The array must not be modified
+     *
+     * @return the backing row offsets array
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the backing edge destination array. The array must not be modified
+     *
+     * @return the backing edge destination array
+     */
+    public int[] targets() {
+        return targets;
+    }
+
+    /**
+     * Gets the backing edge weight array. The array must not be modified
+     *
+     * @return the backing edge weight array, or {@code null} if the graph is unweighted
+     */
+    public double[] weights() {
+        return weights;
+    }
+
+    /**
+     * Returns {@code true} if the graph carries edge weights
+     *
+     * @return {@code true} if the graph carries edge weights
+     */
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Builds the transpose of this graph, in which every edge points the other way. Dense ids are preserved, so the
+     * transpose's rows list the incoming edges of each vertex
+     *
+     * @return the transpose of this graph
+     */
+    public CompactGraph<V> transpose() {
+        int n = vertexCount();
+        int[] tOffsets = new int[n + 1];
+        for(int t : targets) {
+            tOffsets[t + 1]++;
+        }
+        for(int i = 0; i < n; i++) {
+            tOffsets[i + 1] += tOffsets[i];
+        }
+        int[] fill = tOffsets.clone();
+        int[] tTargets = new int[targets.length];
+        double[] tWeights = weights == null ? null : new double[weights.length];
+        for(int v = 0; v < n; v++) {
+            for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int pos = fill[targets[e]]++;
+                tTargets[pos] = v;
+                if(tWeights != null) {
+                    tWeights[pos] = weights[e];
+                }
+            }
+        }
+        return new CompactGraph<>(vertices, ids, tOffsets, tTargets, tWeights);
+    }
+
+    /**
+     * Builds a copy of this graph with every vertex renumbered. Vertex {@code v} of this graph becomes vertex
+     * {@code newIds[v]} of the copy, and each row of the copy lists its destinations in ascending id order
+     *
+     * @param newIds the new id of every vertex; must be a permutation of {@code [0, vertexCount())}
+     * @return the renumbered graph
+     */
+    public CompactGraph<V> permute(int[] newIds) {
+        int n = vertexCount();
+        if(newIds == null || newIds.length != n) {
+            throw new IllegalArgumentException("a permutation must have one entry per vertex");
+        }
+        int[] oldIds = new int[n];
+        Arrays.fill(oldIds, -1);
+        for(int v = 0; v < n; v++) {
+            int id = newIds[v];
+            if(id < 0 || id >= n || oldIds[id] >= 0) {
+                throw new IllegalArgumentException("new ids must be a permutation of the vertex ids");
+            }
+            oldIds[id] = v;
+        }
+        var pVertices = new ArrayList<V>(n);
+        int[] pOffsets = new int[n + 1];
+        for(int id = 0; id < n; id++) {
+            pVertices.add(vertices.get(oldIds[id]));
+            pOffsets[id + 1] = pOffsets[id] + outDegree(oldIds[id]);
+        }
+        int[] pTargets = new int[targets.length];
+        double[] pWeights = weights == null ? null : new double[weights.length];
+        for(int id = 0; id < n; id++) {
+            int v = oldIds[id];
+            int base = pOffsets[id];
+            int degree = outDegree(v);
+            if(pWeights == null) {
+                for(int i = 0; i < degree; i++) {
+                    pTargets[base + i] = newIds[targets[offsets[v] + i]];
+                }
+                Arrays.sort(pTargets, base, base + degree);
+            } else {
+                // Sort the row by new destination id, carrying each weight along with its destination
+                long[] row = new long[degree];
+                for(int i = 0; i < degree; i++) {
+                    row[i] = ((long)newIds[targets[offsets[v] + i]] << 32) | i;
+                }
+                Arrays.sort(row);
+                for(int i = 0; i < degree; i++) {
+                    pTargets[base + i] = (int)(row[i] >>> 32);
+                    pWeights[base + i] = weights[offsets[v] + (int)row[i]];
+                }
+            }
+        }
+        return new CompactGraph<>(pVertices, pOffsets, pTargets, pWeights);
+    }
+}
@@ -0,0 +1,91 @@
+package com.foley.graph.compact;
+
+/**
+ * The result of renumbering the vertices of a compact graph: the renumbered graph, the mapping between old and new ids,
+ * and how the average distance between the ids of adjacent vertices changed
+ *
+ * @param <V> The type of vertices in the graph
+ */
+public class Reordering<V> {
+    private String name;
+    private CompactGraph<V> graph;
+    private int[] newIds;
+    private int[] oldIds;
+    private double gapBefore;
+    private double gapAfter;
+
+    /**
+     * Creates a new reordering result
+     *
+     * @param name the name of the ordering that was applied
+     * @param original the graph before renumbering
+     * @param newIds the new id of every vertex of the original graph
+     */
+    Reordering(String name, CompactGraph<V> original, int[] newIds) {
+        this.name = name;
+        this.newIds = newIds;
+        graph = original.permute(newIds);
+        oldIds = new int[newIds.length];
+        for(int v = 0; v < newIds.length; v++) {
+            oldIds[newIds[v]] = v;
+        }
+        gapBefore = VertexOrdering.averageGap(original);
+        gapAfter = VertexOrdering.averageGap(graph);
+    }
+
+    /**
+     * Gets the renumbered graph
+     *
+     * @return the renumbered graph
+     */
+    public CompactGraph<V> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the new id of every vertex, indexed by its id in the original graph. The array must not be modified
+     *
+     * @return the new id of every vertex
+     */
+    public int[] newIds() {
+        return newIds;
+    }
+
+    /**
+     * Gets the original id of every vertex, indexed by its id in the renumbered graph. The array must not be modified
+     *
+     * @return the original id of every vertex
+     */
+    public int[] oldIds() {
+        return oldIds;
+    }
+
+    /**
+     * Gets the average distance between the ids of adjacent vertices before renumbering
+     *
+     * @return the average neighbor id gap of the original graph
+     */
+    public double getGapBefore() {
+        return gapBefore;
+    }
+
+    /**
+     * Gets the average distance between the ids of adjacent vertices after renumbering
+     *
+     * @return the average neighbor id gap of the renumbered graph
+     */
+    public double getGapAfter() {
+        return gapAfter;
+    }
+
+    @Override
+    /**
+     * Returns a one line summary of the reordering
+     *
+     * @return a summary of the ordering applied and how it changed the average neighbor id gap
+     */
+    public String toString() {
+        return String.format("%s: average neighbor id gap %.1f -> %.1f (%.2fx)", name, gapBefore, gapAfter,
+                gapAfter > 0 ? gapBefore / gapAfter : 1.0);
+    }
+}
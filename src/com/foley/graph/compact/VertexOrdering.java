@@ -0,0 +1,390 @@
+package com.foley.graph.compact;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Provides methods for renumbering the vertices of a compact graph so that vertices that are used together sit close
+ * together in memory. Vertex ids taken from a hash set are effectively random, so a traversal jumps all over the rank
+ * and visited arrays; a locality-aware numbering keeps the neighbors of a vertex within a few cache lines of each
+ * other.
+ * <p>
+ * Every ordering treats the graph as undirected when deciding which vertices are neighbors
+ */
+public class VertexOrdering {
+    /**
+     * The Gorder window size used when none is specified
+     */
+    public static final int DEFAULT_WINDOW = 5;
+
+    /**
+     * Numbers vertices by descending degree, so that hubs are packed together at the front
+     *
+     * @param g the graph to renumber
+     * @param <V> The type of vertices in the graph
+     * @return the renumbered graph and its id mapping
+     */
+    public static <V> Reordering<V> degreeSorted(CompactGraph<V> g) {
+        int[] degree = degrees(g);
+        // Complementing the degree sorts it descending, while ties stay in ascending id order
+        long[] keyed = new long[degree.length];
+        for(int v = 0; v < degree.length; v++) {
+            keyed[v] = ((long)~degree[v] << 32) | v;
+        }
+        Arrays.sort(keyed);
+        int[] order = new int[keyed.length];
+        for(int i = 0; i < keyed.length; i++) {
+            order[i] = (int)keyed[i];
+        }
+        return new Reordering<>("degree", g, invert(order));
+    }
+
+    /**
+     * Numbers vertices in breadth first order, starting each connected component from its lowest id
+     *
+     * @param g the graph to renumber
+     * @param <V> The type of vertices in the graph
+     * @return the renumbered graph and its id mapping
+     */
+    public static <V> Reordering<V> bfs(CompactGraph<V> g) {
+        var u = new Undirected(g);
+        int[] order = u.breadthFirst(IntStream.range(0, g.vertexCount()).toArray(), false);
+        return new Reordering<>("bfs", g, invert(order));
+    }
+
+    /**
+     * Numbers vertices with the reverse Cuthill-McKee ordering: a breadth first search from a low degree vertex of each
+     * component that visits neighbors in ascending degree order, reversed at the end. This minimizes the bandwidth of
+     * the adjacency matrix, which keeps every edge's endpoints close together
+     *
+     * @param g the graph to renumber
+     * @param <V> The type of vertices in the graph
+     * @return the renumbered graph and its id mapping
+     */
+    public static <V> Reordering<V> reverseCuthillMcKee(CompactGraph<V> g) {
+        var u = new Undirected(g);
+        // Components are started from their lowest degree vertex
+        int[] roots = IntStream.range(0, g.vertexCount()).toArray();
+        u.sortByDegree(roots, 0, roots.length);
+        int[] order = u.breadthFirst(roots, true);
+        for(int i = 0, j = order.length - 1; i < j; i++, j--) {
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return new Reordering<>("rcm", g, invert(order));
+    }
+
+    /**
+     * Numbers vertices with the default Gorder window
+     *
+     * @param g the graph to renumber
+     * @param <V> The type of vertices in the graph
+     * @return the renumbered graph and its id mapping
+     * @see #gorder(CompactGraph, int)
+     */
+    public static <V> Reordering<V> gorder(CompactGraph<V> g) {
+        return gorder(g, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Numbers vertices with a greedy Gorder-style locality ordering. Vertices are placed one at a time, and each step
+     * places the vertex that shares the most with the last {@code window} placed vertices, counting both direct edges
+     * and common neighbors. Scores are kept in a bucketed priority structure that supports unit increments and
+     * decrements in constant time. Common neighbors reached through hubs with more than {@code sqrt(n)} neighbors are
+     * ignored, since they connect almost everything and would dominate the cost
+     *
+     * @param g the graph to renumber
+     * @param window the number of recently placed vertices a candidate is scored against
+     * @param <V> The type of vertices in the graph
+     * @return the renumbered graph and its id mapping
+     */
+    public static <V> Reordering<V> gorder(CompactGraph<V> g, int window) {
+        if(window < 1) {
+            throw new IllegalArgumentException("the Gorder window must hold at least one vertex");
+        }
+        int n = g.vertexCount();
+        var u = new Undirected(g);
+        int hub = Math.max(16, (int)Math.sqrt(n));
+        var heap = new UnitHeap(n);
+        int[] order = new int[n];
+        if(n == 0) {
+            return new Reordering<>("gorder", g, order);
+        }
+        // Start from the vertex with the most neighbors
+        int start = 0;
+        for(int v = 1; v < n; v++) {
+            if(u.degree[v] > u.degree[start]) {
+                start = v;
+            }
+        }
+        heap.remove(start);
+        order[0] = start;
+        score(u, heap, start, hub, 1);
+        for(int i = 1; i < n; i++) {
+            if(i > window) {
+                score(u, heap, order[i - window - 1], hub, -1);
+            }
+            int v = heap.popMax();
+            order[i] = v;
+            score(u, heap, v, hub, 1);
+        }
+        return new Reordering<>("gorder", g, invert(order));
+    }
+
+    /**
+     * Computes the average distance between the ids of the two endpoints of each edge
+     *
+     * @param g the graph to measure
+     * @return the average neighbor id gap, or {@code 0} if the graph has no edges
+     */
+    public static double averageGap(CompactGraph<?> g) {
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        if(targets.length == 0) {
+            return 0;
+        }
+        long total = IntStream.range(0, g.vertexCount()).parallel().mapToLong(v -> {
+            long sum = 0;
+            for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                sum += Math.abs(targets[e] - v);
+            }
+            return sum;
+        }).sum();
+        return (double)total / targets.length;
+    }
+
+    /**
+     * Adds {@code delta} to the score of every unplaced vertex that is a neighbor or a sibling of {@code v}
+     *
+     * @param u the undirected view of the graph
+     * @param heap the scores of the unplaced vertices
+     * @param v the vertex entering or leaving the window
+     * @param hub the degree above which a vertex is not used to find siblings
+     * @param delta {@code 1} when {@code v} enters the window and {@code -1} when it leaves
+     */
+    private static void score(Undirected u, UnitHeap heap, int v, int hub, int delta) {
+        for(int e = u.offsets[v]; e < u.offsets[v + 1]; e++) {
+            int w = u.targets[e];
+            heap.adjust(w, delta);
+            if(u.degree[w] <= hub) {
+                for(int f = u.offsets[w]; f < u.offsets[w + 1]; f++) {
+                    int x = u.targets[f];
+                    if(x != v) {
+                        heap.adjust(x, delta);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the undirected degree of every vertex
+     *
+     * @param g the graph to measure
+     * @return the in-degree plus out-degree of every vertex
+     */
+    private static int[] degrees(CompactGraph<?> g) {
+        int[] degree = new int[g.vertexCount()];
+        for(int v = 0; v < degree.length; v++) {
+            degree[v] = g.outDegree(v);
+        }
+        for(int t : g.targets()) {
+            degree[t]++;
+        }
+        return degree;
+    }
+
+    /**
+     * Turns a visiting order into a new id for every vertex
+     *
+     * @param order the vertices in the order they should be numbered
+     * @return the new id of every vertex
+     */
+    private static int[] invert(int[] order) {
+        int[] newIds = new int[order.length];
+        for(int i = 0; i < order.length; i++) {
+            newIds[order[i]] = i;
+        }
+        return newIds;
+    }
+
+    /**
+     * The graph with every edge usable in both directions
+     */
+    private static class Undirected {
+        private int[] offsets;
+        private int[] targets;
+        private int[] degree;
+
+        private Undirected(CompactGraph<?> g) {
+            int n = g.vertexCount();
+            var t = g.transpose();
+            offsets = new int[n + 1];
+            for(int v = 0; v < n; v++) {
+                offsets[v + 1] = offsets[v] + g.outDegree(v) + t.outDegree(v);
+            }
+            targets = new int[offsets[n]];
+            degree = new int[n];
+            for(int v = 0; v < n; v++) {
+                int out = g.outDegree(v);
+                System.arraycopy(g.targets(), g.offsets()[v], targets, offsets[v], out);
+                System.arraycopy(t.targets(), t.offsets()[v], targets, offsets[v] + out, t.outDegree(v));
+                degree[v] = offsets[v + 1] - offsets[v];
+            }
+        }
+
+        /**
+         * Visits every vertex breadth first, starting a new search from the next unvisited root whenever the current
+         * one runs out
+         *
+         * @param roots the candidate starting vertices, in order of preference
+         * @param byDegree {@code true} to enqueue each vertex's neighbors in ascending degree order
+         * @return the vertices in the order they were visited
+         */
+        private int[] breadthFirst(int[] roots, boolean byDegree) {
+            int n = degree.length;
+            int[] order = new int[n];
+            boolean[] visited = new boolean[n];
+            int tail = 0;
+            int head = 0;
+            for(int root : roots) {
+                if(visited[root]) {
+                    continue;
+                }
+                visited[root] = true;
+                order[tail++] = root;
+                while(head < tail) {
+                    int v = order[head++];
+                    int from = tail;
+                    for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int w = targets[e];
+                        if(!visited[w]) {
+                            visited[w] = true;
+                            order[tail++] = w;
+                        }
+                    }
+                    if(byDegree) {
+                        sortByDegree(order, from, tail);
+                    }
+                }
+            }
+            return order;
+        }
+
+        /**
+         * Sorts part of an array of vertices by ascending degree
+         *
+         * @param vertices the array to sort
+         * @param from the first index to sort
+         * @param to one past the last index to sort
+         */
+        private void sortByDegree(int[] vertices, int from, int to) {
+            if(to - from < 2) {
+                return;
+            }
+            long[] keyed = new long[to - from];
+            for(int i = from; i < to; i++) {
+                keyed[i - from] = ((long)degree[vertices[i]] << 32) | vertices[i];
+            }
+            Arrays.sort(keyed);
+            for(int i = from; i < to; i++) {
+                vertices[i] = (int)keyed[i - from];
+            }
+        }
+    }
+
+    /**
+     * A max priority structure over vertex scores that only ever change by one. Vertices with the same score are kept in
+     * a doubly linked bucket list, so adjusting a score and finding the highest scored vertex take constant amortized
+     * time
+     */
+    private static class UnitHeap {
+        private int[] key;
+        private int[] prev;
+        private int[] next;
+        private int[] heads;
+        private boolean[] removed;
+        private int top;
+
+        private UnitHeap(int n) {
+            key = new int[n];
+            prev = new int[n];
+            next = new int[n];
+            heads = new int[16];
+            removed = new boolean[n];
+            Arrays.fill(heads, -1);
+            for(int v = n - 1; v >= 0; v--) {
+                link(v, 0);
+            }
+        }
+
+        /**
+         * Changes the score of an unplaced vertex
+         *
+         * @param v the vertex
+         * @param delta the change in score, {@code 1} or {@code -1}
+         */
+        private void adjust(int v, int delta) {
+            if(removed[v]) {
+                return;
+            }
+            unlink(v);
+            // Every decrement undoes an earlier increment, so scores never drop below zero
+            key[v] += delta;
+            link(v, key[v]);
+            if(key[v] > top) {
+                top = key[v];
+            }
+        }
+
+        /**
+         * Removes a vertex from the structure for good
+         *
+         * @param v the vertex
+         */
+        private void remove(int v) {
+            unlink(v);
+            removed[v] = true;
+        }
+
+        /**
+         * Removes and returns the vertex with the highest score
+         *
+         * @return the vertex with the highest score
+         */
+        private int popMax() {
+            while(heads[top] < 0) {
+                top--;
+            }
+            int v = heads[top];
+            remove(v);
+            return v;
+        }
+
+        private void link(int v, int k) {
+            if(k >= heads.length) {
+                int old = heads.length;
+                heads = Arrays.copyOf(heads, Math.max(k + 1, old * 2));
+                Arrays.fill(heads, old, heads.length, -1);
+            }
+            prev[v] = -1;
+            next[v] = heads[k];
+            if(heads[k] >= 0) {
+                prev[heads[k]] = v;
+            }
+            heads[k] = v;
+        }
+
+        private void unlink(int v) {
+            if(prev[v] >= 0) {
+                next[prev[v]] = next[v];
+            } else {
+                heads[key[v]] = next[v];
+            }
+            if(next[v] >= 0) {
+                prev[next[v]] = prev[v];
+            }
+        }
+    }
+}
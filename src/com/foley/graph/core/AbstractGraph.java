@@ -12,12 +12,14 @@ import java.util.Set;
  */
 public abstract class AbstractGraph<V, E> implements Graph<V, E> {
     private Set<V> vertices;
+    private GraphListenerSupport<V, E> listeners;
 
     /**
      * Creates a new abstract graph instance
      */
     public AbstractGraph() {
         vertices = new HashSet<>();
+        listeners = new GraphListenerSupport<>();
     }
 
     @Override
@@ -67,7 +69,11 @@ public abstract class AbstractGraph<V, E> implements Graph<V, E> {
      * @return {@code true} if the vertex was successfully added to the graph
      */
     public boolean addVertex(V v) {
-        return vertices.add(v);
+        boolean b = vertices.add(v);
+        if(b) {
+            listeners.fireVertexAdded(v);
+        }
+        return b;
     }
 
     @Override
@@ -160,4 +166,35 @@ public abstract class AbstractGraph<V, E> implements Graph<V, E> {
     public Set<V> getVertices() {
         return vertices;
     }
+
+    @Override
+    /**
+     * Registers a listener that will be notified of every mutation made to the graph
+     *
+     * @param l the listener to register
+     */
+    public void addGraphListener(GraphListener<V, E> l) {
+        listeners.addListener(l);
+    }
+
+    @Override
+    /**
+     * Unregisters a listener previously registered with {@link #addGraphListener(GraphListener)}
+     *
+     * @param l the listener to unregister
+     * @return {@code true} if the listener was registered with the graph
+     */
+    public boolean removeGraphListener(GraphListener<V, E> l) {
+        return listeners.removeListener(l);
+    }
+
+    /**
+     * Returns the listener support used to notify listeners of mutations. Subclasses use this to fire events after
+     * they have mutated the graph
+     *
+     * @return the listener support for this graph
+     */
+    protected GraphListenerSupport<V, E> getListeners() {
+        return listeners;
+    }
 }
@@ -53,6 +53,24 @@ public class BasicEdge<V, E> implements Edge<V, E>{
         return cost;
     }
 
+    @Override
+    /**
+     * Returns {@code true} if {@code o} is an edge with the same source, destination, and cost as this edge
+     *
+     * @param o the object to compare against
+     * @return {@code true} if both edges relate the same vertices with the same cost
+     */
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+        if(!(o instanceof Edge)) {
+            return false;
+        }
+        var e = (Edge<?, ?>)o;
+        return source.equals(e.getSource()) && destination.equals(e.getDestination()) && Objects.equals(cost, e.getCost());
+    }
+
     @Override
     /**
      * Returns the hash code of the edge
@@ -1,5 +1,6 @@
 package com.foley.graph.core;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -28,6 +29,7 @@ public class BasicGraph<V, E> extends AbstractGraph<V, E> implements Graph<V, E>
     public void clear() {
         getVertices().clear();
         edges.clear();
+        getListeners().fireGraphCleared();
     }
 
     @Override
@@ -47,7 +49,11 @@ public class BasicGraph<V, E> extends AbstractGraph<V, E> implements Graph<V, E>
             throw new IllegalArgumentException("Both vertices must be in the graph to add an edge");
         }
         var edge = BasicEdge.buildEdge(v1, v2, cost);
-        return edges.add(edge);
+        boolean b = edges.add(edge);
+        if(b) {
+            getListeners().fireEdgeAdded(v1, v2, cost);
+        }
+        return b;
     }
 
     @Override
@@ -58,15 +64,22 @@ public class BasicGraph<V, E> extends AbstractGraph<V, E> implements Graph<V, E>
      * @return {@code true} if the vertex was successfully removed from the graph
      */
     public boolean removeVertex(V v) {
-        var adjacent = getAdjacent(v);
-        boolean b = getVertices().remove(v);
-        if(b) {
-            for(V adj : adjacent) {
-                E cost = getEdgeCost(v, adj);
-                edges.remove(BasicEdge.buildEdge(v, adj, cost));
+        if(!getVertices().contains(v)) {
+            return false;
+        }
+        var incident = new ArrayList<Edge<V, E>>();
+        for(var e : edges) {
+            if(e.getSource().equals(v) || e.getDestination().equals(v)) {
+                incident.add(e);
             }
         }
-        return b;
+        for(var e : incident) {
+            edges.remove(e);
+            getListeners().fireEdgeRemoved(e.getSource(), e.getDestination(), e.getCost());
+        }
+        getVertices().remove(v);
+        getListeners().fireVertexRemoved(v);
+        return true;
     }
 
     @Override
@@ -82,8 +95,11 @@ public class BasicGraph<V, E> extends AbstractGraph<V, E> implements Graph<V, E>
         if(v1 == null || v2 == null || cost == null) {
             throw new IllegalArgumentException("cannot remove edge of null vertex or cost");
         }
-        edges.remove(BasicEdge.buildEdge(v1, v2, cost));
-        return false;
+        boolean b = edges.remove(BasicEdge.buildEdge(v1, v2, cost));
+        if(b) {
+            getListeners().fireEdgeRemoved(v1, v2, cost);
+        }
+        return b;
     }
 
     /**
@@ -97,7 +113,7 @@ public class BasicGraph<V, E> extends AbstractGraph<V, E> implements Graph<V, E>
     public E getEdgeCost(V v1, V v2) {
         if(areAdjacent(v1, v2)) {
             for(var e : edges) {
-                if(e.getSource() == v1 && e.getDestination() == v2) {
+                if(e.getSource().equals(v1) && e.getDestination().equals(v2)) {
                     return e.getCost();
                 }
             }
@@ -154,7 +170,7 @@ public class BasicGraph<V, E> extends AbstractGraph<V, E> implements Graph<V, E>
         }
         var edgeMap = new HashSet<Edge<V, E>>();
         for(var e : edges) {
-            if(e.getSource() == v) {
+            if(e.getSource().equals(v)) {
                 edgeMap.add(e);
             }
         }
@@ -27,6 +27,7 @@ public class BasicHashGraph<V, E> extends AbstractGraph<V, E> implements Graph<V
     public void clear() {
         getVertices().clear();
         edgeMap.clear();
+        getListeners().fireGraphCleared();
     }
 
     @Override
@@ -37,11 +38,12 @@ public class BasicHashGraph<V, E> extends AbstractGraph<V, E> implements Graph<V
      * @return {@code true} if the vertex was successfully added to the graph
      */
     public boolean addVertex(V v) {
-        boolean b = super.addVertex(v);
-        if(b) {
-            edgeMap.put(v, new HashMap<>());
+        if(containsVertex(v)) {
+            return false;
         }
-        return b;
+        // The adjacency map must exist before listeners are told about the vertex
+        edgeMap.put(v, new HashMap<>());
+        return super.addVertex(v);
     }
 
     @Override
@@ -63,10 +65,11 @@ public class BasicHashGraph<V, E> extends AbstractGraph<V, E> implements Graph<V
             throw new IllegalArgumentException("Both vertices must be in the graph to add an edge");
         }
         var vEdges = edgeMap.get(v1);
-        if(cost == vEdges.getOrDefault(v2, null)) {
+        if(Objects.equals(cost, vEdges.get(v2))) {
             return false;
         }
         vEdges.put(v2, cost);
+        getListeners().fireEdgeAdded(v1, v2, cost);
         return true;
     }
 
@@ -78,14 +81,25 @@ public class BasicHashGraph<V, E> extends AbstractGraph<V, E> implements Graph<V
      * @return {@code true} if the vertex was successfully removed from the graph
      */
     public boolean removeVertex(V v) {
-        boolean b = getVertices().remove(v);
-        if(b) {
-            edgeMap.remove(v);
-            for(V vAdjacent : edgeMap.keySet()) {
-                edgeMap.get(vAdjacent).remove(v);
+        if(!containsVertex(v)) {
+            return false;
+        }
+        // Edges are removed one at a time so listeners see every edge leave before the vertex does
+        var vEdges = edgeMap.get(v);
+        for(V adj : new ArrayList<>(vEdges.keySet())) {
+            E cost = vEdges.remove(adj);
+            getListeners().fireEdgeRemoved(v, adj, cost);
+        }
+        for(V vAdjacent : edgeMap.keySet()) {
+            E cost = edgeMap.get(vAdjacent).remove(v);
+            if(cost != null) {
+                getListeners().fireEdgeRemoved(vAdjacent, v, cost);
             }
         }
-        return b;
+        edgeMap.remove(v);
+        getVertices().remove(v);
+        getListeners().fireVertexRemoved(v);
+        return true;
     }
 
     @Override
@@ -99,7 +113,8 @@ public class BasicHashGraph<V, E> extends AbstractGraph<V, E> implements Graph<V
      */
     public boolean removeEdge(V v1, V v2, E cost) {
         if(areAdjacent(v1, v2)) {
-            edgeMap.get(v1).remove(v2);
+            E old = edgeMap.get(v1).remove(v2);
+            getListeners().fireEdgeRemoved(v1, v2, old);
             return true;
         }
         return false;
@@ -1,6 +1,6 @@
 package com.foley.graph.core;
 
-import java.util.Random;
+import com.foley.graph.gen.GraphGenerator;
 
 /**
  * Runs tests on graphs
@@ -14,11 +14,17 @@ public class Driver {
     public static void main(String[] args) {
         Graph<Integer, Integer> g = new BasicHashGraph<>();
         System.out.println("Basic Graph");
-        naiveProfile(g, 1000, 200, 46);
+        naiveProfile(g, 1000, GraphGenerator.uniform(200, 46), 42);
         g = new BasicHashGraph<>();
         System.out.println("Basic Hash Graph");
-        naiveProfile(g, 1000, 200, 46);
+        naiveProfile(g, 1000, GraphGenerator.uniform(200, 46), 42);
         GraphPrinter.printGraph(g);
+        System.out.println("Kronecker, scale 16");
+        naiveProfile(new BasicHashGraph<>(), 3, GraphGenerator.kronecker(16, 16), 42);
+        System.out.println("Power law, 100000 vertices");
+        naiveProfile(new BasicHashGraph<>(), 3, GraphGenerator.powerLaw(100_000, 8, 2.1), 42);
+        System.out.println("Road network, 500 x 500");
+        naiveProfile(new BasicHashGraph<>(), 3, GraphGenerator.road(500, 500, 0.1), 42);
     }
 
     /**
@@ -26,20 +32,14 @@ public class Driver {
      *
      * @param g the graph to benchmark
      * @param cycles how many times to benchmark
-     * @param numVertices the number of vertices to add into the graph
-     * @param numEdges the number of edges to create
+     * @param generator generates the vertices and edges to add into the graph
+     * @param seed the seed for the first cycle, incremented for each cycle after it
      */
-    private static void naiveProfile(Graph<Integer, Integer> g, int cycles, int numVertices, int numEdges) {
+    private static void naiveProfile(Graph<Integer, Integer> g, int cycles, GraphGenerator generator, long seed) {
         long start = System.nanoTime();
         for(int i = 0; i < cycles; i++) {
             g.clear();
-            for(int j = 0; j < numVertices; j++) {
-                g.addVertex(j);
-            }
-            Random rand = new Random();
-            for(int w = 0; w < numEdges; w++) {
-                g.addEdge(rand.nextInt(numVertices), rand.nextInt(numVertices), rand.nextInt(500));
-            }
+            generator.load(g, seed + i, r -> r.nextInt(500));
         }
         start = System.nanoTime() - start;
         System.out.printf("Total time taken: %fms\n", start / 1000.0 / 1000.0);
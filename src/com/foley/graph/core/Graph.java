@@ -127,4 +127,19 @@ public interface Graph<V, E> {
      * @return a set with all the edges in the graph
      */
     Set<Edge<V, E>> getAllEdges();
+
+    /**
+     * Registers a listener that will be notified of every mutation made to the graph
+     *
+     * @param l the listener to register
+     */
+    void addGraphListener(GraphListener<V, E> l);
+
+    /**
+     * Unregisters a listener previously registered with {@link #addGraphListener(GraphListener)}
+     *
+     * @param l the listener to unregister
+     * @return {@code true} if the listener was registered with the graph
+     */
+    boolean removeGraphListener(GraphListener<V, E> l);
 }
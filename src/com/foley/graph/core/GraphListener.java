@@ -0,0 +1,56 @@
+package com.foley.graph.core;
+
+/**
+ * A callback that is notified of the mutations made to a {@code Graph}. Every method has an empty default
+ * implementation so that listeners only need to override the events they care about. Events are delivered after the
+ * mutation has been applied, so the graph already reflects the change when a listener is called
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public interface GraphListener<V, E> {
+    /**
+     * Called after vertex {@code v} has been added to the graph
+     *
+     * @param v the vertex that was added
+     */
+    default void vertexAdded(V v) {
+    }
+
+    /**
+     * Called after vertex {@code v} has been removed from the graph. Every edge touching {@code v} will already have been
+     * reported through {@link #edgeRemoved(Object, Object, Object)}
+     *
+     * @param v the vertex that was removed
+     */
+    default void vertexRemoved(V v) {
+    }
+
+    /**
+     * Called after an edge between source vertex {@code v1} and destination vertex {@code v2} has been added to the graph,
+     * or after the cost of an existing edge has been changed to {@code cost}
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the new cost to travel along the edge
+     */
+    default void edgeAdded(V v1, V v2, E cost) {
+    }
+
+    /**
+     * Called after an edge between source vertex {@code v1} and destination vertex {@code v2} has been removed from the
+     * graph
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost of the edge that was removed
+     */
+    default void edgeRemoved(V v1, V v2, E cost) {
+    }
+
+    /**
+     * Called after all vertices and edges have been cleared from the graph
+     */
+    default void graphCleared() {
+    }
+}
@@ -0,0 +1,111 @@
+package com.foley.graph.core;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps track of the listeners registered on a graph and delivers mutation events to them. Graph implementations
+ * create one instance and forward their {@code addGraphListener}/{@code removeGraphListener} calls to it
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public class GraphListenerSupport<V, E> {
+    private List<GraphListener<V, E>> listeners;
+
+    /**
+     * Creates a new listener support instance with no registered listeners
+     */
+    public GraphListenerSupport() {
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Registers a listener to be notified of mutations
+     *
+     * @param l the listener to register
+     */
+    public void addListener(GraphListener<V, E> l) {
+        if(l == null) {
+            throw new IllegalArgumentException("cannot register a null graph listener");
+        }
+        listeners.add(l);
+    }
+
+    /**
+     * Unregisters a previously registered listener
+     *
+     * @param l the listener to unregister
+     * @return {@code true} if the listener was registered
+     */
+    public boolean removeListener(GraphListener<V, E> l) {
+        return listeners.remove(l);
+    }
+
+    /**
+     * Returns {@code true} if at least one listener is registered. Graphs can use this to skip building event data when
+     * nobody is listening
+     *
+     * @return {@code true} if at least one listener is registered
+     */
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Notifies all listeners that vertex {@code v} was added
+     *
+     * @param v the vertex that was added
+     */
+    public void fireVertexAdded(V v) {
+        for(var l : listeners) {
+            l.vertexAdded(v);
+        }
+    }
+
+    /**
+     * Notifies all listeners that vertex {@code v} was removed
+     *
+     * @param v the vertex that was removed
+     */
+    public void fireVertexRemoved(V v) {
+        for(var l : listeners) {
+            l.vertexRemoved(v);
+        }
+    }
+
+    /**
+     * Notifies all listeners that an edge was added or had its cost changed
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the new cost to travel along the edge
+     */
+    public void fireEdgeAdded(V v1, V v2, E cost) {
+        for(var l : listeners) {
+            l.edgeAdded(v1, v2, cost);
+        }
+    }
+
+    /**
+     * Notifies all listeners that an edge was removed
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost of the edge that was removed
+     */
+    public void fireEdgeRemoved(V v1, V v2, E cost) {
+        for(var l : listeners) {
+            l.edgeRemoved(v1, v2, cost);
+        }
+    }
+
+    /**
+     * Notifies all listeners that the graph was cleared
+     */
+    public void fireGraphCleared() {
+        for(var l : listeners) {
+            l.graphCleared();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.foley.graph.cost;
+
+/**
+ * An algebra over the costs of a graph that tells path algorithms how to extend a path by an edge and which of two
+ * paths is better. Shortest paths, fewest hops, widest bottlenecks and most reliable routes are all the same search
+ * under different cost models.
+ * <p>
+ * Path algorithms that settle vertices greedily, such as Dijkstra's, require the model to be monotone: extending a path
+ * by an edge never makes it better, so {@code compare(combine(p, e), p) >= 0} for every path cost {@code p} and edge
+ * cost {@code e}
+ *
+ * @param <E> The type of cost between vertices in the graph
+ */
+public interface CostModel<E> {
+    /**
+     * Gets the cost of the empty path, from a vertex to itself
+     *
+     * @return the cost of the empty path
+     */
+    E zero();
+
+    /**
+     * Gets the cost of an unreachable vertex, which every real path is better than or equal to
+     *
+     * @return the worst possible cost
+     */
+    E infinity();
+
+    /**
+     * Gets the cost of extending a path by an edge
+     *
+     * @param path the cost of the path so far
+     * @param edge the cost of the edge that extends it
+     * @return the cost of the extended path
+     */
+    E combine(E path, E edge);
+
+    /**
+     * Compares two path costs
+     *
+     * @param a the first path cost
+     * @param b the second path cost
+     * @return a negative number if {@code a} is better than {@code b}, zero if they are equally good, and a positive
+     * number if {@code a} is worse
+     */
+    int compare(E a, E b);
+
+    /**
+     * Returns {@code true} if two costs are equally good
+     *
+     * @param a the first cost
+     * @param b the second cost
+     * @return {@code true} if neither cost is better than the other
+     */
+    default boolean same(E a, E b) {
+        return compare(a, b) == 0;
+    }
+}
@@ -0,0 +1,275 @@
+package com.foley.graph.cost;
+
+import java.util.function.DoubleFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Provides the common cost models. Every model reads edge costs through {@link Number}, and takes a function that
+ * boxes primitive path costs back into the graph's cost type, such as {@code Double::valueOf} or
+ * {@code v -> (int)v}. The no-argument versions box into {@code Double} or {@code Long}
+ */
+public class CostModels {
+    /**
+     * Creates a model for shortest paths over {@code Double} costs
+     *
+     * @return a shortest path cost model
+     * @see #shortestPath(DoubleFunction)
+     */
+    public static DoubleCostModel<Double> shortestPath() {
+        return shortestPath(Double::valueOf);
+    }
+
+    /**
+     * Creates a model for shortest paths: path costs are the sum of their edge costs, and lower is better. Edge costs
+     * must not be negative
+     *
+     * @param box converts a primitive path cost to the graph's cost type
+     * @param <E> The type of cost between vertices in the graph
+     * @return a shortest path cost model
+     */
+    public static <E extends Number> DoubleCostModel<E> shortestPath(DoubleFunction<E> box) {
+        return new NumberDoubleModel<>(box) {
+            @Override
+            public double zeroAsDouble() {
+                return 0;
+            }
+
+            @Override
+            public double infinityAsDouble() {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            @Override
+            public double combine(double path, double edge) {
+                return path + edge;
+            }
+
+            @Override
+            public int compare(double a, double b) {
+                return Double.compare(a, b);
+            }
+        };
+    }
+
+    /**
+     * Creates a model for shortest paths over {@code Long} costs
+     *
+     * @return an exact integral shortest path cost model
+     * @see #integralShortestPath(LongFunction)
+     */
+    public static LongCostModel<Long> integralShortestPath() {
+        return integralShortestPath(Long::valueOf);
+    }
+
+    /**
+     * Creates a model for shortest paths over integral costs, which are summed exactly as {@code long} values. Sums
+     * saturate at {@code Long.MAX_VALUE}, which stands for an unreachable vertex. Edge costs must not be negative
+     *
+     * @param box converts a primitive path cost to the graph's cost type
+     * @param <E> The type of cost between vertices in the graph
+     * @return an exact integral shortest path cost model
+     */
+    public static <E extends Number> LongCostModel<E> integralShortestPath(LongFunction<E> box) {
+        return new NumberLongModel<>(box) {
+            @Override
+            public long zeroAsLong() {
+                return 0;
+            }
+
+            @Override
+            public long infinityAsLong() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public long combine(long path, long edge) {
+                long sum = path + edge;
+                // Overflow can only happen upwards, since costs are not negative
+                return sum < path ? Long.MAX_VALUE : sum;
+            }
+
+            @Override
+            public int compare(long a, long b) {
+                return Long.compare(a, b);
+            }
+        };
+    }
+
+    /**
+     * Creates a model for paths with the fewest edges over {@code Long} costs
+     *
+     * @return a minimum hop cost model
+     * @see #minHop(LongFunction)
+     */
+    public static LongCostModel<Long> minHop() {
+        return minHop(Long::valueOf);
+    }
+
+    /**
+     * Creates a model for paths with the fewest edges: every edge adds one to the path cost regardless of its own cost,
+     * and lower is better
+     *
+     * @param box converts a primitive hop count to the graph's cost type
+     * @param <E> The type of cost between vertices in the graph
+     * @return a minimum hop cost model
+     */
+    public static <E extends Number> LongCostModel<E> minHop(LongFunction<E> box) {
+        return new NumberLongModel<>(box) {
+            @Override
+            public long zeroAsLong() {
+                return 0;
+            }
+
+            @Override
+            public long infinityAsLong() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public long combine(long path, long edge) {
+                return path == Long.MAX_VALUE ? path : path + 1;
+            }
+
+            @Override
+            public int compare(long a, long b) {
+                return Long.compare(a, b);
+            }
+        };
+    }
+
+    /**
+     * Creates a model for widest paths over {@code Double} costs
+     *
+     * @return a bottleneck cost model
+     * @see #bottleneck(DoubleFunction)
+     */
+    public static DoubleCostModel<Double> bottleneck() {
+        return bottleneck(Double::valueOf);
+    }
+
+    /**
+     * Creates a model for widest paths: edge costs are capacities, a path's cost is the smallest capacity along it, and
+     * higher is better. The empty path has infinite capacity and an unreachable vertex has none
+     *
+     * @param box converts a primitive capacity to the graph's cost type
+     * @param <E> The type of cost between vertices in the graph
+     * @return a bottleneck cost model
+     */
+    public static <E extends Number> DoubleCostModel<E> bottleneck(DoubleFunction<E> box) {
+        return new NumberDoubleModel<>(box) {
+            @Override
+            public double zeroAsDouble() {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            @Override
+            public double infinityAsDouble() {
+                return Double.NEGATIVE_INFINITY;
+            }
+
+            @Override
+            public double combine(double path, double edge) {
+                return Math.min(path, edge);
+            }
+
+            @Override
+            public int compare(double a, double b) {
+                return Double.compare(b, a);
+            }
+        };
+    }
+
+    /**
+     * Creates a model for most reliable paths over {@code Double} costs
+     *
+     * @return a reliability cost model
+     * @see #reliability(DoubleFunction)
+     */
+    public static DoubleCostModel<Double> reliability() {
+        return reliability(Double::valueOf);
+    }
+
+    /**
+     * Creates a model for most reliable paths: edge costs are the probabilities that each edge works, a path's cost is
+     * the product of its probabilities, and higher is better. Edge costs must be in {@code [0, 1]}
+     *
+     * @param box converts a primitive probability to the graph's cost type
+     * @param <E> The type of cost between vertices in the graph
+     * @return a reliability cost model
+     */
+    public static <E extends Number> DoubleCostModel<E> reliability(DoubleFunction<E> box) {
+        return new NumberDoubleModel<>(box) {
+            @Override
+            public double zeroAsDouble() {
+                return 1;
+            }
+
+            @Override
+            public double infinityAsDouble() {
+                return 0;
+            }
+
+            @Override
+            public double combine(double path, double edge) {
+                return path * edge;
+            }
+
+            @Override
+            public int compare(double a, double b) {
+                return Double.compare(b, a);
+            }
+        };
+    }
+
+    /**
+     * A double cost model over numeric costs
+     *
+     * @param <E> The type of cost between vertices in the graph
+     */
+    private abstract static class NumberDoubleModel<E extends Number> implements DoubleCostModel<E> {
+        private DoubleFunction<E> box;
+
+        private NumberDoubleModel(DoubleFunction<E> box) {
+            if(box == null) {
+                throw new IllegalArgumentException("a cost model needs a function to box its costs");
+            }
+            this.box = box;
+        }
+
+        @Override
+        public double toDouble(E cost) {
+            return cost.doubleValue();
+        }
+
+        @Override
+        public E fromDouble(double value) {
+            return box.apply(value);
+        }
+    }
+
+    /**
+     * A long cost model over numeric costs
+     *
+     * @param <E> The type of cost between vertices in the graph
+     */
+    private abstract static class NumberLongModel<E extends Number> implements LongCostModel<E> {
+        private LongFunction<E> box;
+
+        private NumberLongModel(LongFunction<E> box) {
+            if(box == null) {
+                throw new IllegalArgumentException("a cost model needs a function to box its costs");
+            }
+            this.box = box;
+        }
+
+        @Override
+        public long toLong(E cost) {
+            return cost.longValue();
+        }
+
+        @Override
+        public E fromLong(long value) {
+            return box.apply(value);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.foley.graph.cost;
+
+/**
+ * A cost model whose costs can be carried as {@code long} values. Path algorithms that recognize this model convert
+ * each edge cost once, run entirely on primitive values, and only box the costs they return. Unlike
+ * {@link DoubleCostModel}, sums of integral costs stay exact beyond {@code 2^53}. The boxed methods of
+ * {@link CostModel} are implemented through the primitive ones
+ *
+ * @param <E> The type of cost between vertices in the graph
+ */
+public interface LongCostModel<E> extends CostModel<E> {
+    /**
+     * Converts a cost to its primitive value
+     *
+     * @param cost the cost to convert
+     * @return the primitive value of {@code cost}
+     */
+    long toLong(E cost);
+
+    /**
+     * Converts a primitive value back to a cost
+     *
+     * @param value the primitive value to convert
+     * @return the cost with the value {@code value}
+     */
+    E fromLong(long value);
+
+    /**
+     * Gets the primitive cost of the empty path
+     *
+     * @return the primitive cost of the empty path
+     */
+    long zeroAsLong();
+
+    /**
+     * Gets the primitive cost of an unreachable vertex
+     *
+     * @return the worst possible primitive cost
+     */
+    long infinityAsLong();
+
+    /**
+     * Gets the primitive cost of extending a path by an edge
+     *
+     * @param path the primitive cost of the path so far
+     * @param edge the primitive cost of the edge that extends it
+     * @return the primitive cost of the extended path
+     */
+    long combine(long path, long edge);
+
+    /**
+     * Compares two primitive path costs
+     *
+     * @param a the first path cost
+     * @param b the second path cost
+     * @return a negative number if {@code a} is better than {@code b}, zero if they are equally good, and a positive
+     * number if {@code a} is worse
+     */
+    int compare(long a, long b);
+
+    @Override
+    /**
+     * Gets the cost of the empty path
+     *
+     * @return the cost of the empty path
+     */
+    default E zero() {
+        return fromLong(zeroAsLong());
+    }
+
+    @Override
+    /**
+     * Gets the cost of an unreachable vertex
+     *
+     * @return the worst possible cost
+     */
+    default E infinity() {
+        return fromLong(infinityAsLong());
+    }
+
+    @Override
+    /**
+     * Gets the cost of extending a path by an edge
+     *
+     * @param path the cost of the path so far
+     * @param edge the cost of the edge that extends it
+     * @return the cost of the extended path
+     */
+    default E combine(E path, E edge) {
+        return fromLong(combine(toLong(path), toLong(edge)));
+    }
+
+    @Override
+    /**
+     * Compares two path costs
+     *
+     * @param a the first path cost
+     * @param b the second path cost
+     * @return a negative number if {@code a} is better than {@code b}, zero if they are equally good, and a positive
+     * number if {@code a} is worse
+     */
+    default int compare(E a, E b) {
+        return compare(toLong(a), toLong(b));
+    }
+}
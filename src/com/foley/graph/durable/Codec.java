@@ -0,0 +1,82 @@
+package com.foley.graph.durable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts vertices or costs to and from the binary form stored in journals and snapshots
+ *
+ * @param <T> the type of value to convert
+ */
+public interface Codec<T> {
+    /**
+     * A codec for {@code Integer} values
+     */
+    Codec<Integer> INTEGER = new Codec<>() {
+        public void write(Integer value, DataOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    /**
+     * A codec for {@code Long} values
+     */
+    Codec<Long> LONG = new Codec<>() {
+        public void write(Long value, DataOutput out) throws IOException {
+            out.writeLong(value);
+        }
+
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+
+    /**
+     * A codec for {@code Double} values
+     */
+    Codec<Double> DOUBLE = new Codec<>() {
+        public void write(Double value, DataOutput out) throws IOException {
+            out.writeDouble(value);
+        }
+
+        public Double read(DataInput in) throws IOException {
+            return in.readDouble();
+        }
+    };
+
+    /**
+     * A codec for {@code String} values
+     */
+    Codec<String> STRING = new Codec<>() {
+        public void write(String value, DataOutput out) throws IOException {
+            out.writeUTF(value);
+        }
+
+        public String read(DataInput in) throws IOException {
+            return in.readUTF();
+        }
+    };
+
+    /**
+     * Writes {@code value} to {@code out}
+     *
+     * @param value the value to write
+     * @param out the destination of the binary form
+     * @throws IOException if the value cannot be written
+     */
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * Reads a value previously written by {@link #write(Object, DataOutput)}
+     *
+     * @param in the source of the binary form
+     * @return the value that was read
+     * @throws IOException if the value cannot be read
+     */
+    T read(DataInput in) throws IOException;
+}
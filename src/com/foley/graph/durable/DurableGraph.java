@@ -0,0 +1,569 @@
+package com.foley.graph.durable;
+
+import com.foley.graph.core.Edge;
+import com.foley.graph.core.Graph;
+import com.foley.graph.core.GraphListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+/**
+ * A graph whose mutations survive restarts. Every successful {@code addVertex}, {@code addEdge}, {@code removeEdge},
+ * {@code removeVertex} and {@code clear} on this graph is appended to a binary journal before it is applied to a backing
+ * graph, so the backing graph and its listeners never see a change the journal does not hold. Reads go straight to the
+ * backing graph.
+ * <p>
+ * Journal records are made durable in batches: automatically once {@link #setSyncInterval(int)} records have built up,
+ * and on demand through {@link #commit()}, which group commits with any other thread committing at the same time.
+ * Every {@link #setCheckpointInterval(long)} records, or on demand through {@link #checkpoint()}, the whole graph is
+ * written to a snapshot file and the journal is emptied. Opening a durable graph loads the latest snapshot and replays
+ * only the journal written since, so recovery time depends on the length of that tail rather than on the full history.
+ * <p>
+ * Mutations are serialized on the durable graph. Failures to write the journal are rethrown as
+ * {@code UncheckedIOException}, and mutating a closed durable graph throws {@code IllegalStateException}; in both cases
+ * the backing graph is left unchanged
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public class DurableGraph<V, E> implements Graph<V, E>, Closeable {
+    /**
+     * The number of records that are appended before they are automatically synced, used when none is specified
+     */
+    public static final int DEFAULT_SYNC_INTERVAL = 1024;
+
+    /**
+     * The number of records that are appended before a checkpoint is automatically taken, used when none is specified
+     */
+    public static final long DEFAULT_CHECKPOINT_INTERVAL = 1_000_000;
+
+    private static final String SNAPSHOT = "graph.snapshot";
+    private static final String JOURNAL = "graph.journal";
+    private static final int SNAPSHOT_MAGIC = 0x47524150;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte ADD_EDGE = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte CLEAR = 5;
+
+    private Graph<V, E> g;
+    private Path dir;
+    private Codec<V> vCodec;
+    private Codec<E> eCodec;
+    private MutationJournal journal;
+    private ByteArrayOutputStream scratch;
+    private DataOutputStream scratchOut;
+    private int syncInterval;
+    private long checkpointInterval;
+    private int unsynced;
+    private long sinceCheckpoint;
+    private boolean closed;
+
+    /**
+     * Creates a new durable graph over an already recovered backing graph
+     *
+     * @param g the backing graph
+     * @param dir the directory holding the snapshot and journal
+     * @param vCodec converts vertices to and from binary
+     * @param eCodec converts costs to and from binary
+     * @param journal the open journal
+     * @param sinceCheckpoint the number of records replayed from the journal
+     */
+    private DurableGraph(Graph<V, E> g, Path dir, Codec<V> vCodec, Codec<E> eCodec, MutationJournal journal,
+                         long sinceCheckpoint) {
+        this.g = g;
+        this.dir = dir;
+        this.vCodec = vCodec;
+        this.eCodec = eCodec;
+        this.journal = journal;
+        this.sinceCheckpoint = sinceCheckpoint;
+        scratch = new ByteArrayOutputStream();
+        scratchOut = new DataOutputStream(scratch);
+        syncInterval = DEFAULT_SYNC_INTERVAL;
+        checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    }
+
+    /**
+     * Opens the durable graph stored in {@code dir}, creating it if it does not exist yet. The latest snapshot and the
+     * journal written since are loaded into {@code g}
+     *
+     * @param dir the directory holding the snapshot and journal
+     * @param g an empty graph to load into and to back the durable graph
+     * @param vCodec converts vertices to and from binary
+     * @param eCodec converts costs to and from binary
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return the recovered durable graph
+     * @throws IOException if the snapshot or journal cannot be read
+     */
+    public static <V, E> DurableGraph<V, E> open(Path dir, Graph<V, E> g, Codec<V> vCodec, Codec<E> eCodec) throws IOException {
+        if(dir == null || g == null || vCodec == null || eCodec == null) {
+            throw new IllegalArgumentException("cannot open a durable graph with a null directory, graph, or codec");
+        }
+        if(!g.isEmpty()) {
+            throw new IllegalArgumentException("a durable graph must be recovered into an empty graph");
+        }
+        Files.createDirectories(dir);
+        long snapshotLsn = loadSnapshot(dir.resolve(SNAPSHOT), g, vCodec, eCodec);
+        long[] replayed = MutationJournal.replay(dir.resolve(JOURNAL), snapshotLsn, (op, payload, offset, length) -> {
+            var in = new DataInputStream(new ByteArrayInputStream(payload, offset, length));
+            apply(g, op, in, vCodec, eCodec);
+        });
+        var journal = new MutationJournal(dir.resolve(JOURNAL), BUFFER_SIZE, replayed[0], replayed[1]);
+        return new DurableGraph<>(g, dir, vCodec, eCodec, journal, replayed[1] - snapshotLsn);
+    }
+
+    /**
+     * Sets how many records are appended before they are automatically synced to disk
+     *
+     * @param syncInterval the number of records per automatic sync, or {@code 0} to only sync on {@link #commit()}
+     */
+    public synchronized void setSyncInterval(int syncInterval) {
+        if(syncInterval < 0) {
+            throw new IllegalArgumentException("sync interval cannot be negative");
+        }
+        this.syncInterval = syncInterval;
+    }
+
+    /**
+     * Sets how many records are appended before a checkpoint is automatically taken
+     *
+     * @param checkpointInterval the number of records per checkpoint, or {@code 0} to only checkpoint on
+     *                           {@link #checkpoint()}
+     */
+    public synchronized void setCheckpointInterval(long checkpointInterval) {
+        if(checkpointInterval < 0) {
+            throw new IllegalArgumentException("checkpoint interval cannot be negative");
+        }
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Makes every mutation made so far durable. Threads that commit at the same time share a single sync
+     *
+     * @throws IOException if the journal cannot be synced
+     */
+    public void commit() throws IOException {
+        journal.sync();
+    }
+
+    /**
+     * Writes the whole graph to a new snapshot and empties the journal
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public synchronized void checkpoint() throws IOException {
+        long lsn = journal.lastLsn();
+        var snapshot = dir.resolve(SNAPSHOT);
+        var tmp = dir.resolve(SNAPSHOT + ".tmp");
+        try(var fos = new FileOutputStream(tmp.toFile());
+            var out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(lsn);
+            out.writeInt(g.size());
+            for(V v : g.getVertices()) {
+                vCodec.write(v, out);
+            }
+            for(V v : g.getVertices()) {
+                var adj = g.getAdjacent(v);
+                out.writeInt(adj.size());
+                vCodec.write(v, out);
+                for(V w : adj) {
+                    vCodec.write(w, out);
+                    eCodec.write(g.getEdgeCost(v, w), out);
+                }
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+        Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // The rename must be durable before the journal is emptied, or a crash could keep the empty journal but lose
+        // the snapshot that replaced it
+        try(var channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch(IOException e) {
+            // Some platforms, such as Windows, cannot open a directory as a channel. There the rename is as durable as
+            // the file system makes it, which is the best that can be done
+        }
+        // Records at or below the snapshot's sequence number are skipped on replay, so a crash here is harmless
+        journal.truncate();
+        sinceCheckpoint = 0;
+    }
+
+    @Override
+    /**
+     * Syncs the journal and closes it. The backing graph stays usable, but further mutations will fail
+     */
+    public synchronized void close() throws IOException {
+        closed = true;
+        journal.close();
+    }
+
+    @Override
+    /**
+     * Clears all vertices and edges from the graph
+     */
+    public synchronized void clear() {
+        record(CLEAR);
+        g.clear();
+        checkpointIfDue();
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the graph contains the vertex {@code v}
+     *
+     * @param v the vertex to check
+     * @return {@code true} if the graph contains the vertex {@code v}
+     */
+    public boolean contains(V v) {
+        return g.contains(v);
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the graph has no vertices
+     *
+     * @return {@code true} if the graph has no vertices
+     */
+    public boolean isEmpty() {
+        return g.isEmpty();
+    }
+
+    @Override
+    /**
+     * The number of vertices in the graph
+     *
+     * @return the number of vertices in the graph
+     */
+    public int size() {
+        return g.size();
+    }
+
+    @Override
+    /**
+     * Adds a vertex {@code v} to the graph and journals the change
+     *
+     * @param v the vertex to add
+     * @return {@code true} if the vertex was successfully added to the graph
+     */
+    public synchronized boolean addVertex(V v) {
+        if(v == null) {
+            throw new IllegalArgumentException("cannot add a null vertex to a durable graph");
+        }
+        if(g.containsVertex(v)) {
+            return false;
+        }
+        record(ADD_VERTEX, v, null, null);
+        boolean b = g.addVertex(v);
+        checkpointIfDue();
+        return b;
+    }
+
+    @Override
+    /**
+     * Adds an edge to the graph between vertices {@code v1} and {@code v2} with a cost of {@code cost} and journals the
+     * change
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return {@code true} if the edge was successfully added to the graph
+     */
+    public synchronized boolean addEdge(V v1, V v2, E cost) {
+        if(v1 == null || v2 == null || cost == null) {
+            throw new IllegalArgumentException("Cannot add an edge for a null vertex or cost");
+        }
+        if(!g.containsVertex(v1) || !g.containsVertex(v2)) {
+            throw new IllegalArgumentException("Both vertices must be in the graph to add an edge");
+        }
+        // An add that turns out to change nothing is journaled anyway, and changes nothing when it is replayed either
+        record(ADD_EDGE, v1, v2, cost);
+        boolean b = g.addEdge(v1, v2, cost);
+        checkpointIfDue();
+        return b;
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the graph contains the vertex {@code v}
+     *
+     * @param v the vertex to check
+     * @return {@code true} if the graph contains vertex {@code v}
+     */
+    public boolean containsVertex(V v) {
+        return g.containsVertex(v);
+    }
+
+    @Override
+    /**
+     * Removes a vertex {@code v} from the graph and journals the change
+     *
+     * @param v the vertex to remove
+     * @return {@code true} if the vertex was successfully removed from the graph
+     */
+    public synchronized boolean removeVertex(V v) {
+        if(!g.containsVertex(v)) {
+            return false;
+        }
+        record(REMOVE_VERTEX, v, null, null);
+        boolean b = g.removeVertex(v);
+        checkpointIfDue();
+        return b;
+    }
+
+    @Override
+    /**
+     * Removes an edge from the graph between vertices {@code v1} and {@code v2} and a weight of {@code cost} and journals
+     * the change
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return {@code true} if the edge was successfully removed from the graph
+     */
+    public synchronized boolean removeEdge(V v1, V v2, E cost) {
+        if(v1 == null || v2 == null || cost == null) {
+            throw new IllegalArgumentException("cannot remove edge of null vertex or cost");
+        }
+        if(!g.containsVertex(v1) || !g.containsVertex(v2)) {
+            return false;
+        }
+        // As with adds, a remove that finds no edge is harmless to replay
+        record(REMOVE_EDGE, v1, v2, cost);
+        boolean b = g.removeEdge(v1, v2, cost);
+        checkpointIfDue();
+        return b;
+    }
+
+    @Override
+    /**
+     * Returns the cost for traveling along the edge connecting source vertex {@code v1} and destination vertex {@code v2}
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @return the cost to travel along the edge connecting {@code v1} and {@code v2}
+     */
+    public E getEdgeCost(V v1, V v2) {
+        return g.getEdgeCost(v1, v2);
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if an edge exists in the graph between source vertex {@code v1} and destination vertex {@code v2}
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @return {@code true} if an edge exists between the two nodes in the graph
+     */
+    public boolean areAdjacent(V v1, V v2) {
+        return g.areAdjacent(v1, v2);
+    }
+
+    @Override
+    /**
+     * Returns a set of vertices from the graph that are adjacent to vertex {@code v}
+     *
+     * @param v the source vertex
+     * @return a set of vertices adjacent to {@code v}
+     */
+    public Set<V> getAdjacent(V v) {
+        return g.getAdjacent(v);
+    }
+
+    @Override
+    /**
+     * Returns a set with all of the vertices in the graph contained within it
+     *
+     * @return a set with all of the vertices in the graph contained within it
+     */
+    public Set<V> getVertices() {
+        return g.getVertices();
+    }
+
+    @Override
+    /**
+     * Returns a set with all the edges originating from source vertex {@code v}
+     *
+     * @param v the source vertex
+     * @return a set with all the edges originating from source vertex {@code v}
+     */
+    public Set<Edge<V, E>> getEdges(V v) {
+        return g.getEdges(v);
+    }
+
+    @Override
+    /**
+     * Returns a set with all of the edges in the graph
+     *
+     * @return a set with all the edges in the graph
+     */
+    public Set<Edge<V, E>> getAllEdges() {
+        return g.getAllEdges();
+    }
+
+    @Override
+    /**
+     * Registers a listener with the backing graph
+     *
+     * @param l the listener to register
+     */
+    public void addGraphListener(GraphListener<V, E> l) {
+        g.addGraphListener(l);
+    }
+
+    @Override
+    /**
+     * Unregisters a listener from the backing graph
+     *
+     * @param l the listener to unregister
+     * @return {@code true} if the listener was registered with the graph
+     */
+    public boolean removeGraphListener(GraphListener<V, E> l) {
+        return g.removeGraphListener(l);
+    }
+
+    /**
+     * Journals a mutation before it is applied, then syncs if the sync interval has been reached
+     *
+     * @param op the type of mutation
+     * @param v1 the first vertex argument, or {@code null}
+     * @param v2 the second vertex argument, or {@code null}
+     * @param cost the cost argument, or {@code null}
+     */
+    private void record(byte op, V v1, V v2, E cost) {
+        if(closed) {
+            throw new IllegalStateException("cannot mutate a closed durable graph");
+        }
+        try {
+            scratch.reset();
+            if(v1 != null) {
+                vCodec.write(v1, scratchOut);
+            }
+            if(v2 != null) {
+                vCodec.write(v2, scratchOut);
+            }
+            if(cost != null) {
+                eCodec.write(cost, scratchOut);
+            }
+            scratchOut.flush();
+            long lsn = journal.append(op, scratch.toByteArray(), scratch.size());
+            sinceCheckpoint++;
+            if(syncInterval > 0 && ++unsynced >= syncInterval) {
+                unsynced = 0;
+                journal.sync(lsn);
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException("could not journal graph mutation", e);
+        }
+    }
+
+    /**
+     * Takes a checkpoint if the checkpoint interval has been reached. Only called once a journaled mutation has been
+     * applied, so that the snapshot holds every record it claims to cover
+     */
+    private void checkpointIfDue() {
+        if(checkpointInterval > 0 && sinceCheckpoint >= checkpointInterval) {
+            try {
+                checkpoint();
+            } catch(IOException e) {
+                throw new UncheckedIOException("could not checkpoint durable graph", e);
+            }
+        }
+    }
+
+    /**
+     * Journals a mutation that has no arguments
+     *
+     * @param op the type of mutation
+     */
+    private void record(byte op) {
+        record(op, null, null, null);
+    }
+
+    /**
+     * Applies a journaled mutation to a graph during recovery
+     *
+     * @param g the graph being recovered
+     * @param op the type of mutation
+     * @param in the encoded arguments of the mutation
+     * @param vCodec converts vertices from binary
+     * @param eCodec converts costs from binary
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @throws IOException if the arguments cannot be decoded
+     */
+    private static <V, E> void apply(Graph<V, E> g, byte op, DataInputStream in, Codec<V> vCodec, Codec<E> eCodec) throws IOException {
+        switch(op) {
+            case ADD_VERTEX:
+                g.addVertex(vCodec.read(in));
+                break;
+            case REMOVE_VERTEX:
+                g.removeVertex(vCodec.read(in));
+                break;
+            case ADD_EDGE:
+                g.addEdge(vCodec.read(in), vCodec.read(in), eCodec.read(in));
+                break;
+            case REMOVE_EDGE:
+                g.removeEdge(vCodec.read(in), vCodec.read(in), eCodec.read(in));
+                break;
+            case CLEAR:
+                g.clear();
+                break;
+            default:
+                throw new IOException("unknown journal record type " + op);
+        }
+    }
+
+    /**
+     * Loads a snapshot into a graph
+     *
+     * @param file the snapshot file
+     * @param g the graph to load into
+     * @param vCodec converts vertices from binary
+     * @param eCodec converts costs from binary
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return the sequence number of the last journal record captured by the snapshot, or {@code 0} if there is none
+     * @throws IOException if the snapshot cannot be read
+     */
+    private static <V, E> long loadSnapshot(Path file, Graph<V, E> g, Codec<V> vCodec, Codec<E> eCodec) throws IOException {
+        if(!Files.exists(file)) {
+            return 0;
+        }
+        try(var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if(in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("not a graph snapshot: " + file);
+            }
+            long lsn = in.readLong();
+            int n = in.readInt();
+            for(int i = 0; i < n; i++) {
+                g.addVertex(vCodec.read(in));
+            }
+            for(int i = 0; i < n; i++) {
+                int degree = in.readInt();
+                V v = vCodec.read(in);
+                for(int j = 0; j < degree; j++) {
+                    g.addEdge(v, vCodec.read(in), eCodec.read(in));
+                }
+            }
+            return lsn;
+        }
+    }
+}
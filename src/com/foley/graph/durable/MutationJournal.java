@@ -0,0 +1,257 @@
+package com.foley.graph.durable;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of graph mutations. Each record is framed as
+ * <pre>
+ *     int length | long lsn | byte op | payload | int crc
+ * </pre>
+ * where {@code length} covers the lsn, op and payload, and the CRC-32 covers the same bytes. Records are staged in a
+ * direct buffer and written to the file channel when the buffer fills or a sync is requested.
+ * <p>
+ * Syncs are group committed: a thread asking for its record to be durable forces everything appended so far, and any
+ * thread whose record was covered by a force that finished while it waited returns without forcing again
+ */
+class MutationJournal implements Closeable {
+    private static final int HEADER = Integer.BYTES;
+    private static final int TRAILER = Integer.BYTES;
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private CRC32 crc;
+    private long lastLsn;
+    private long writtenLsn;
+    private volatile long durableLsn;
+    private final Object syncLock = new Object();
+
+    /**
+     * Opens a journal for appending, positioned after its last intact record
+     *
+     * @param file the journal file
+     * @param bufferSize the size of the direct staging buffer
+     * @param end the length of the intact prefix of the file, as found by {@link #replay(Path, long, Visitor)}
+     * @param lastLsn the sequence number of the last record already made durable
+     * @throws IOException if the file cannot be opened
+     */
+    MutationJournal(Path file, int bufferSize, long end, long lastLsn) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        // Anything after the intact prefix is a torn write from a crash
+        channel.truncate(end);
+        channel.position(end);
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+        crc = new CRC32();
+        this.lastLsn = lastLsn;
+        writtenLsn = lastLsn;
+        durableLsn = lastLsn;
+    }
+
+    /**
+     * Appends a record to the journal. The record is not durable until {@link #sync(long)} covers it
+     *
+     * @param op the type of mutation
+     * @param payload the encoded arguments of the mutation
+     * @param length the number of bytes of {@code payload} to use
+     * @return the sequence number assigned to the record
+     * @throws IOException if the staging buffer cannot be written out
+     */
+    synchronized long append(byte op, byte[] payload, int length) throws IOException {
+        long lsn = ++lastLsn;
+        int body = Long.BYTES + 1 + length;
+        int size = HEADER + body + TRAILER;
+        crc.reset();
+        var framed = size > buffer.capacity() ? ByteBuffer.allocate(size) : null;
+        if(framed == null && buffer.remaining() < size) {
+            writeBuffer();
+        }
+        var target = framed == null ? buffer : framed;
+        target.putInt(body);
+        int start = target.position();
+        target.putLong(lsn);
+        target.put(op);
+        target.put(payload, 0, length);
+        // Checksum the body straight out of the buffer it was written to
+        var view = target.duplicate();
+        view.position(start);
+        view.limit(start + body);
+        crc.update(view);
+        target.putInt((int)crc.getValue());
+        if(framed != null) {
+            writeBuffer();
+            framed.flip();
+            while(framed.hasRemaining()) {
+                channel.write(framed);
+            }
+            writtenLsn = lsn;
+        }
+        return lsn;
+    }
+
+    /**
+     * Makes every record up to and including {@code lsn} durable
+     *
+     * @param lsn the sequence number that must be durable when this method returns
+     * @throws IOException if the journal cannot be forced to disk
+     */
+    void sync(long lsn) throws IOException {
+        if(durableLsn >= lsn) {
+            return;
+        }
+        synchronized(syncLock) {
+            // Another thread's force may already have covered this record
+            if(durableLsn >= lsn) {
+                return;
+            }
+            long target;
+            synchronized(this) {
+                writeBuffer();
+                target = writtenLsn;
+            }
+            channel.force(false);
+            durableLsn = target;
+        }
+    }
+
+    /**
+     * Makes every record appended so far durable
+     *
+     * @throws IOException if the journal cannot be forced to disk
+     */
+    void sync() throws IOException {
+        long lsn;
+        synchronized(this) {
+            lsn = lastLsn;
+        }
+        sync(lsn);
+    }
+
+    /**
+     * Gets the sequence number of the last record appended
+     *
+     * @return the sequence number of the last record appended
+     */
+    synchronized long lastLsn() {
+        return lastLsn;
+    }
+
+    /**
+     * Discards every record, after they have been captured by a checkpoint. Sequence numbers keep counting up
+     *
+     * @throws IOException if the journal cannot be truncated
+     */
+    void truncate() throws IOException {
+        synchronized(syncLock) {
+            synchronized(this) {
+                buffer.clear();
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(true);
+                writtenLsn = lastLsn;
+                durableLsn = lastLsn;
+            }
+        }
+    }
+
+    @Override
+    /**
+     * Syncs and closes the journal
+     */
+    public void close() throws IOException {
+        sync();
+        channel.close();
+    }
+
+    /**
+     * Writes the staging buffer to the file channel. The caller must hold this journal's lock
+     *
+     * @throws IOException if the buffer cannot be written
+     */
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        writtenLsn = lastLsn;
+    }
+
+    /**
+     * Reads every intact record of a journal in order, stopping at the first torn or corrupt record
+     *
+     * @param file the journal file
+     * @param afterLsn records with a sequence number at or below this one are skipped
+     * @param visitor receives each record
+     * @return the length of the intact prefix of the file and the last sequence number seen
+     * @throws IOException if the file cannot be read or a record cannot be applied
+     */
+    static long[] replay(Path file, long afterLsn, Visitor visitor) throws IOException {
+        long end = 0;
+        long last = afterLsn;
+        if(!Files.exists(file)) {
+            return new long[] {end, last};
+        }
+        try(var channel = FileChannel.open(file, StandardOpenOption.READ);
+            var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16))) {
+            long size = channel.size();
+            var crc = new CRC32();
+            byte[] body = new byte[256];
+            while(end + HEADER + TRAILER <= size) {
+                int length;
+                try {
+                    length = in.readInt();
+                    if(length < Long.BYTES + 1 || end + HEADER + length + TRAILER > size) {
+                        break;
+                    }
+                    if(body.length < length) {
+                        body = new byte[Math.max(length, body.length * 2)];
+                    }
+                    in.readFully(body, 0, length);
+                    int stored = in.readInt();
+                    crc.reset();
+                    crc.update(body, 0, length);
+                    if(stored != (int)crc.getValue()) {
+                        break;
+                    }
+                } catch(EOFException e) {
+                    break;
+                }
+                var record = ByteBuffer.wrap(body, 0, length);
+                long lsn = record.getLong();
+                byte op = record.get();
+                if(lsn > last) {
+                    visitor.visit(op, body, Long.BYTES + 1, length - Long.BYTES - 1);
+                    last = lsn;
+                }
+                end += HEADER + length + TRAILER;
+            }
+        }
+        return new long[] {end, last};
+    }
+
+    /**
+     * Receives the records of a journal during replay
+     */
+    interface Visitor {
+        /**
+         * Applies a single record
+         *
+         * @param op the type of mutation
+         * @param payload the array holding the encoded arguments
+         * @param offset the start of the arguments in {@code payload}
+         * @param length the length of the arguments
+         * @throws IOException if the record cannot be decoded
+         */
+        void visit(byte op, byte[] payload, int offset, int length) throws IOException;
+    }
+}
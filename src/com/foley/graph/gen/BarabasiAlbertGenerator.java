@@ -0,0 +1,103 @@
+package com.foley.graph.gen;
+
+import java.util.stream.LongStream;
+
+/**
+ * Generates Barabasi-Albert graphs with the parallel copy model. Edge {@code k} leaves vertex {@code k / d + 1}, so
+ * vertex {@code 0} only receives edges. Its destination is found by picking a uniformly random position among the
+ * {@code 2k} endpoints of the edges before it: an even position is the source of an earlier edge, known immediately,
+ * and an odd position is the destination of an earlier edge, resolved the same way. Picking endpoints uniformly picks
+ * vertices in proportion to their degree, which is preferential attachment. Because every edge draws from its own
+ * random stream, any edge can be resolved independently of the others
+ */
+class BarabasiAlbertGenerator implements GraphGenerator {
+    private int n;
+    private int d;
+
+    /**
+     * Creates a new Barabasi-Albert graph generator
+     *
+     * @param n the number of vertices
+     * @param d the number of edges each new vertex attaches
+     */
+    BarabasiAlbertGenerator(int n, int d) {
+        if(n < 0 || d < 1) {
+            throw new IllegalArgumentException("a preferential attachment graph needs a non-negative number of vertices "
+                    + "and at least one edge per vertex");
+        }
+        this.n = n;
+        this.d = d;
+    }
+
+    @Override
+    /**
+     * Gets the number of vertices in the generated graph
+     *
+     * @return the number of vertices in the generated graph
+     */
+    public int vertexCount() {
+        return n;
+    }
+
+    @Override
+    /**
+     * Gets the number of chunks the work is split into
+     *
+     * @return the number of chunks
+     */
+    public int chunkCount() {
+        return ChunkedGenerator.chunksFor(edgeCount());
+    }
+
+    @Override
+    /**
+     * Generates the edges of a single chunk, in order
+     *
+     * @param seed the seed that determines the edges generated
+     * @param chunk the index of the chunk
+     * @return the packed edges of the chunk
+     */
+    public LongStream edges(long seed, int chunk) {
+        long from = (long)chunk * ChunkedGenerator.EDGES_PER_CHUNK;
+        long to = Math.min(edgeCount(), from + ChunkedGenerator.EDGES_PER_CHUNK);
+        return LongStream.range(from, to).map(k -> GraphGenerator.pack(source(k), destination(seed, k)));
+    }
+
+    /**
+     * Gets the number of edges generated
+     *
+     * @return the number of edges generated
+     */
+    private long edgeCount() {
+        return n == 0 ? 0 : (long)(n - 1) * d;
+    }
+
+    /**
+     * Gets the source vertex of an edge
+     *
+     * @param k the index of the edge
+     * @return the source vertex of edge {@code k}
+     */
+    private int source(long k) {
+        return (int)(k / d) + 1;
+    }
+
+    /**
+     * Resolves the destination vertex of an edge by following copied endpoints back to a source
+     *
+     * @param seed the generator seed
+     * @param k the index of the edge
+     * @return the destination vertex of edge {@code k}
+     */
+    private int destination(long seed, long k) {
+        while(k > 0) {
+            long x = ChunkedGenerator.random(seed, k).nextLong(2 * k);
+            if((x & 1) == 0) {
+                return source(x >>> 1);
+            }
+            k = x >>> 1;
+        }
+        // The first edge can only attach to vertex 0
+        return 0;
+    }
+}
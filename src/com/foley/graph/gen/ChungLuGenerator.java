@@ -0,0 +1,70 @@
+package com.foley.graph.gen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Generates Chung-Lu graphs with a power-law degree distribution. Endpoints are drawn by binary searching the cumulative
+ * vertex weights, which are computed once and shared by every chunk
+ */
+class ChungLuGenerator extends ChunkedGenerator {
+    private long m;
+    private double[] cumulative;
+
+    /**
+     * Creates a new Chung-Lu graph generator
+     *
+     * @param n the number of vertices
+     * @param averageDegree the expected number of edges per vertex
+     * @param exponent the power-law exponent of the degree distribution
+     */
+    ChungLuGenerator(int n, double averageDegree, double exponent) {
+        super(n);
+        if(!(averageDegree >= 0)) {
+            throw new IllegalArgumentException("the average degree cannot be negative");
+        }
+        if(!(exponent > 1)) {
+            throw new IllegalArgumentException("a power-law exponent must be greater than 1");
+        }
+        m = Math.round(n * averageDegree);
+        cumulative = new double[n];
+        double alpha = -1 / (exponent - 1);
+        double total = 0;
+        for(int i = 0; i < n; i++) {
+            total += Math.pow(i + 1, alpha);
+            cumulative[i] = total;
+        }
+    }
+
+    @Override
+    /**
+     * Gets the number of chunks the work is split into
+     *
+     * @return the number of chunks
+     */
+    public int chunkCount() {
+        return chunksFor(m);
+    }
+
+    @Override
+    void generate(SplittableRandom random, int chunk, LongConsumer out) {
+        long count = Math.min(EDGES_PER_CHUNK, m - (long)chunk * EDGES_PER_CHUNK);
+        for(long i = 0; i < count; i++) {
+            out.accept(GraphGenerator.pack(draw(random), draw(random)));
+        }
+    }
+
+    /**
+     * Draws a vertex with probability proportional to its weight
+     *
+     * @param random the random number generator for this chunk
+     * @return the vertex drawn
+     */
+    private int draw(SplittableRandom random) {
+        double r = random.nextDouble() * cumulative[cumulative.length - 1];
+        int i = Arrays.binarySearch(cumulative, r);
+        // A miss gives the insertion point, which is the first vertex whose cumulative weight exceeds r
+        return Math.min(i >= 0 ? i + 1 : -i - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.foley.graph.gen;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * This class provides a skeletal implementation of a generator whose work is split into independent chunks. Chunks are
+ * generated in parallel, each from a random number generator derived only from the seed and the chunk index
+ */
+abstract class ChunkedGenerator implements GraphGenerator {
+    /**
+     * The number of edges generated per chunk by generators that split their work by edge
+     */
+    static final int EDGES_PER_CHUNK = 1 << 16;
+
+    private int n;
+
+    /**
+     * Creates a new chunked generator
+     *
+     * @param n the number of vertices
+     */
+    ChunkedGenerator(int n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("a graph cannot have a negative number of vertices");
+        }
+        this.n = n;
+    }
+
+    @Override
+    /**
+     * Gets the number of vertices in the generated graph
+     *
+     * @return the number of vertices in the generated graph
+     */
+    public int vertexCount() {
+        return n;
+    }
+
+    @Override
+    /**
+     * Generates the edges of a single chunk, in order
+     *
+     * @param seed the seed that determines the edges generated
+     * @param chunk the index of the chunk
+     * @return the packed edges of the chunk
+     */
+    public LongStream edges(long seed, int chunk) {
+        var out = LongStream.builder();
+        generate(random(seed, chunk), chunk, out);
+        return out.build();
+    }
+
+    /**
+     * Generates the edges of a single chunk
+     *
+     * @param random the random number generator for this chunk
+     * @param chunk the index of the chunk
+     * @param out receives each packed edge
+     */
+    abstract void generate(SplittableRandom random, int chunk, LongConsumer out);
+
+    /**
+     * Creates the random number generator for a chunk
+     *
+     * @param seed the generator seed
+     * @param chunk the index of the chunk
+     * @return a random number generator that depends only on {@code seed} and {@code chunk}
+     */
+    static SplittableRandom random(long seed, long chunk) {
+        return new SplittableRandom(mix(seed ^ mix(chunk + 0x9E3779B97F4A7C15L)));
+    }
+
+    /**
+     * Scrambles the bits of a long, so that nearby inputs give unrelated outputs
+     *
+     * @param z the value to scramble
+     * @return the scrambled value
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Gets the number of chunks needed to generate a number of edges
+     *
+     * @param m the number of edges
+     * @return the number of chunks of {@link #EDGES_PER_CHUNK} edges needed
+     */
+    static int chunksFor(long m) {
+        long chunks = (m + EDGES_PER_CHUNK - 1) / EDGES_PER_CHUNK;
+        if(chunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many edges to generate: " + m);
+        }
+        return (int)chunks;
+    }
+}
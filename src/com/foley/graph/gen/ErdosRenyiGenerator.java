@@ -0,0 +1,62 @@
+package com.foley.graph.gen;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Generates Erdos-Renyi {@code G(n, p)} graphs. Work is split by ranges of source vertices, sized so that each chunk
+ * holds about {@link #EDGES_PER_CHUNK} edges on average
+ */
+class ErdosRenyiGenerator extends ChunkedGenerator {
+    private double p;
+    private int rowsPerChunk;
+
+    /**
+     * Creates a new Erdos-Renyi graph generator
+     *
+     * @param n the number of vertices
+     * @param p the probability of each edge
+     */
+    ErdosRenyiGenerator(int n, double p) {
+        super(n);
+        if(!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("an edge probability must be between 0 and 1");
+        }
+        this.p = p;
+        double perRow = Math.max(1, (n - 1) * p);
+        rowsPerChunk = (int)Math.max(1, Math.min(Math.max(n, 1), EDGES_PER_CHUNK / perRow));
+    }
+
+    @Override
+    /**
+     * Gets the number of chunks the work is split into
+     *
+     * @return the number of chunks
+     */
+    public int chunkCount() {
+        return (vertexCount() + rowsPerChunk - 1) / rowsPerChunk;
+    }
+
+    @Override
+    void generate(SplittableRandom random, int chunk, LongConsumer out) {
+        int n = vertexCount();
+        int from = chunk * rowsPerChunk;
+        int to = (int)Math.min(n, (long)from + rowsPerChunk);
+        if(p == 0) {
+            return;
+        }
+        double logQ = Math.log1p(-p);
+        for(int v = from; v < to; v++) {
+            // Walk the n - 1 possible destinations, skipping a geometrically distributed number between edges
+            long j = -1;
+            while(true) {
+                j += p == 1 ? 1 : 1 + (long)Math.floor(Math.log1p(-random.nextDouble()) / logQ);
+                if(j >= n - 1) {
+                    break;
+                }
+                int w = (int)j;
+                out.accept(GraphGenerator.pack(v, w < v ? w : w + 1));
+            }
+        }
+    }
+}
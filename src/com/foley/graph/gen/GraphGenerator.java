@@ -0,0 +1,309 @@
+package com.foley.graph.gen;
+
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Generates synthetic graphs over the vertices {@code 0} to {@code vertexCount() - 1}. Edges are produced as a parallel
+ * stream of packed longs, with the source in the high 32 bits and the destination in the low 32 bits, so that
+ * generating millions of edges allocates no edge objects.
+ * <p>
+ * Generation is deterministic: the same generator and seed always produce the same edges, no matter how many threads
+ * generate them. The work is split into chunks, and each chunk draws from its own {@code SplittableRandom} seeded from
+ * the generator seed and the chunk index. Generators may produce duplicate edges and self loops where their model
+ * does; self loops are dropped when the edges are loaded into a graph, and duplicates are left to the graph
+ */
+public interface GraphGenerator {
+    /**
+     * Gets the number of vertices in the generated graph
+     *
+     * @return the number of vertices in the generated graph
+     */
+    int vertexCount();
+
+    /**
+     * Gets the number of chunks the edges are generated in. Chunks depend only on the seed and their index, so they can
+     * be generated in any order and on any thread
+     *
+     * @return the number of chunks
+     */
+    int chunkCount();
+
+    /**
+     * Generates the edges of a single chunk, in order
+     *
+     * @param seed the seed that determines the edges generated
+     * @param chunk the index of the chunk, from {@code 0} to {@code chunkCount() - 1}
+     * @return the packed edges of the chunk
+     * @see #pack(int, int)
+     */
+    LongStream edges(long seed, int chunk);
+
+    /**
+     * Generates the edges of the graph as a parallel stream of packed longs
+     *
+     * @param seed the seed that determines the edges generated
+     * @return the packed edges of the graph
+     * @see #pack(int, int)
+     */
+    default LongStream edges(long seed) {
+        return IntStream.range(0, chunkCount()).parallel().mapToObj(chunk -> edges(seed, chunk)).flatMapToLong(s -> s);
+    }
+
+    /**
+     * Passes every generated edge to {@code action} in order, from the calling thread. Chunks are generated in parallel a
+     * few at a time, so only a bounded window of edges is held in memory however large the graph is
+     *
+     * @param seed the seed that determines the edges generated
+     * @param action receives each packed edge
+     */
+    default void forEachEdge(long seed, LongConsumer action) {
+        int chunks = chunkCount();
+        int window = 4 * ForkJoinPool.getCommonPoolParallelism();
+        for(int from = 0; from < chunks; from += window) {
+            long[][] batch = IntStream.range(from, Math.min(chunks, from + window)).parallel()
+                    .mapToObj(chunk -> edges(seed, chunk).toArray())
+                    .toArray(long[][]::new);
+            for(long[] edges : batch) {
+                for(long e : edges) {
+                    action.accept(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the generated vertices and edges to a graph. Edges are generated in parallel and then added in order from the
+     * calling thread, so {@code g} does not need to be thread safe. Self loops are skipped; duplicate edges are passed to
+     * {@code g}, whose {@code addEdge} decides whether they are ignored, replace the edge, or add a parallel one. Edge
+     * costs are drawn in order from a single random number generator, which keeps them reproducible as well
+     *
+     * @param g the graph to add the vertices and edges to
+     * @param seed the seed that determines the edges generated and their costs
+     * @param costs creates the cost of each edge from a random number generator
+     * @param <E> The type of cost between vertices in the graph
+     * @return the number of edges {@code g} reported as added
+     */
+    default <E> int load(Graph<Integer, E> g, long seed, Function<SplittableRandom, E> costs) {
+        if(g == null || costs == null) {
+            throw new IllegalArgumentException("cannot load a generated graph into a null graph or with null costs");
+        }
+        int n = vertexCount();
+        for(int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        var random = new SplittableRandom(ChunkedGenerator.mix(~seed));
+        int[] added = new int[1];
+        forEachEdge(seed, e -> {
+            int v1 = source(e);
+            int v2 = destination(e);
+            if(v1 != v2 && g.addEdge(v1, v2, costs.apply(random))) {
+                added[0]++;
+            }
+        });
+        return added[0];
+    }
+
+    /**
+     * Builds an unweighted compact graph from the generated edges directly, without going through a {@code Graph}.
+     * Vertex {@code i} has id {@code i}, and each vertex's edges are sorted by destination, without self loops or
+     * duplicates. The edges are generated twice, once to count each vertex's edges and once to place them, so that no
+     * more than the final arrays and a window of edges are ever held
+     *
+     * @param seed the seed that determines the edges generated
+     * @return the generated graph in compressed sparse row form
+     */
+    default CompactGraph<Integer> toCompact(long seed) {
+        int n = vertexCount();
+        int[] counts = new int[n + 1];
+        forEachEdge(seed, e -> {
+            if(source(e) != destination(e)) {
+                counts[source(e) + 1]++;
+            }
+        });
+        for(int v = 0; v < n; v++) {
+            counts[v + 1] += counts[v];
+        }
+        int[] placed = new int[counts[n]];
+        int[] next = Arrays.copyOf(counts, n);
+        forEachEdge(seed, e -> {
+            if(source(e) != destination(e)) {
+                placed[next[source(e)]++] = destination(e);
+            }
+        });
+        // Sort and deduplicate each row in place, then pack the rows together
+        int[] lengths = new int[n];
+        IntStream.range(0, n).parallel().forEach(v -> {
+            Arrays.sort(placed, counts[v], counts[v + 1]);
+            int length = 0;
+            for(int i = counts[v]; i < counts[v + 1]; i++) {
+                if(length == 0 || placed[counts[v] + length - 1] != placed[i]) {
+                    placed[counts[v] + length++] = placed[i];
+                }
+            }
+            lengths[v] = length;
+        });
+        int[] offsets = new int[n + 1];
+        for(int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + lengths[v];
+        }
+        int[] targets = offsets[n] == placed.length ? placed : new int[offsets[n]];
+        if(targets != placed) {
+            IntStream.range(0, n).parallel()
+                    .forEach(v -> System.arraycopy(placed, counts[v], targets, offsets[v], lengths[v]));
+        }
+        var vertices = new ArrayList<Integer>(n);
+        for(int v = 0; v < n; v++) {
+            vertices.add(v);
+        }
+        return new CompactGraph<>(vertices, offsets, targets, null);
+    }
+
+    /**
+     * Packs an edge into a single long
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @return the packed edge
+     */
+    static long pack(int v1, int v2) {
+        return ((long)v1 << 32) | (v2 & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the source vertex of a packed edge
+     *
+     * @param edge the packed edge
+     * @return the source vertex of the edge
+     */
+    static int source(long edge) {
+        return (int)(edge >>> 32);
+    }
+
+    /**
+     * Gets the destination vertex of a packed edge
+     *
+     * @param edge the packed edge
+     * @return the destination vertex of the edge
+     */
+    static int destination(long edge) {
+        return (int)edge;
+    }
+
+    /**
+     * Creates a generator for Erdos-Renyi {@code G(n, p)} graphs, in which every ordered pair of distinct vertices is
+     * connected independently with probability {@code p}. Each row is sampled by skipping ahead geometrically distributed
+     * gaps, so generation takes time proportional to the number of edges rather than {@code n^2}
+     *
+     * @param n the number of vertices
+     * @param p the probability of each edge
+     * @return an Erdos-Renyi graph generator
+     */
+    static GraphGenerator erdosRenyi(int n, double p) {
+        return new ErdosRenyiGenerator(n, p);
+    }
+
+    /**
+     * Creates a generator for graphs with {@code m} edges whose endpoints are chosen uniformly at random, the
+     * {@code G(n, m)} variant of the Erdos-Renyi model with replacement
+     *
+     * @param n the number of vertices
+     * @param m the number of edges to draw
+     * @return a uniform random graph generator
+     */
+    static GraphGenerator uniform(int n, long m) {
+        return new UniformGenerator(n, m);
+    }
+
+    /**
+     * Creates a generator for R-MAT graphs with {@code 2^scale} vertices and {@code edgeFactor * 2^scale} edges. Each
+     * edge recursively picks one quadrant of the adjacency matrix per bit with probabilities {@code a}, {@code b},
+     * {@code c} and {@code 1 - a - b - c}, giving the skewed, community-structured degree distribution of social and web
+     * graphs. Low vertex ids are the hubs
+     *
+     * @param scale the base two logarithm of the number of vertices
+     * @param edgeFactor the number of edges per vertex
+     * @param a the probability of the top left quadrant
+     * @param b the probability of the top right quadrant
+     * @param c the probability of the bottom left quadrant
+     * @return an R-MAT graph generator
+     */
+    static GraphGenerator rmat(int scale, int edgeFactor, double a, double b, double c) {
+        return new RmatGenerator(scale, edgeFactor, a, b, c);
+    }
+
+    /**
+     * Creates a generator for Kronecker graphs with the Graph500 initiator {@code [0.57, 0.19; 0.19, 0.05]}
+     *
+     * @param scale the base two logarithm of the number of vertices
+     * @param edgeFactor the number of edges per vertex
+     * @return a Kronecker graph generator
+     * @see #rmat(int, int, double, double, double)
+     */
+    static GraphGenerator kronecker(int scale, int edgeFactor) {
+        return rmat(scale, edgeFactor, 0.57, 0.19, 0.19);
+    }
+
+    /**
+     * Creates a generator for Barabasi-Albert preferential attachment graphs. Every vertex after the first connects
+     * {@code edgesPerVertex} edges to earlier vertices chosen with probability proportional to their degree. The edges
+     * are generated in parallel with the copy model: each edge picks a random earlier edge endpoint, and resolves it by
+     * following earlier picks, which draw from their own per-edge random streams
+     *
+     * @param n the number of vertices
+     * @param edgesPerVertex the number of edges each new vertex attaches
+     * @return a Barabasi-Albert graph generator
+     */
+    static GraphGenerator barabasiAlbert(int n, int edgesPerVertex) {
+        return new BarabasiAlbertGenerator(n, edgesPerVertex);
+    }
+
+    /**
+     * Creates a generator for a {@code width} by {@code height} grid, where every vertex has an edge to and from each of
+     * its horizontal and vertical neighbors. Vertex {@code (x, y)} has id {@code y * width + x}
+     *
+     * @param width the number of columns
+     * @param height the number of rows
+     * @return a grid graph generator
+     */
+    static GraphGenerator grid(int width, int height) {
+        return new GridGenerator(width, height, 0);
+    }
+
+    /**
+     * Creates a generator for road-like graphs: a {@code width} by {@code height} grid in which each two-way street is
+     * closed with probability {@code closedProbability}. The result is planar with small, uneven degrees and a large
+     * diameter, like a road network
+     *
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param closedProbability the probability that a street between two neighbors is left out
+     * @return a road-like graph generator
+     */
+    static GraphGenerator road(int width, int height, double closedProbability) {
+        return new GridGenerator(width, height, closedProbability);
+    }
+
+    /**
+     * Creates a generator for Chung-Lu graphs with a power-law degree distribution. Vertex {@code i} is given the
+     * weight {@code (i + 1)^(-1 / (exponent - 1))}, and both endpoints of each edge are drawn in proportion to weight,
+     * so the expected degrees follow a power law with the given exponent
+     *
+     * @param n the number of vertices
+     * @param averageDegree the expected number of edges per vertex
+     * @param exponent the power-law exponent of the degree distribution, greater than {@code 1}
+     * @return a power-law graph generator
+     */
+    static GraphGenerator powerLaw(int n, double averageDegree, double exponent) {
+        return new ChungLuGenerator(n, averageDegree, exponent);
+    }
+}
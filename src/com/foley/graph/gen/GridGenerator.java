@@ -0,0 +1,89 @@
+package com.foley.graph.gen;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Generates grid and road-like graphs. Work is split by ranges of rows
+ */
+class GridGenerator extends ChunkedGenerator {
+    private int width;
+    private int height;
+    private double closed;
+    private int rowsPerChunk;
+
+    /**
+     * Creates a new grid graph generator
+     *
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param closed the probability that a street between two neighbors is left out
+     */
+    GridGenerator(int width, int height, double closed) {
+        super(checkSize(width, height));
+        if(!(closed >= 0 && closed <= 1)) {
+            throw new IllegalArgumentException("a closed street probability must be between 0 and 1");
+        }
+        this.width = width;
+        this.height = height;
+        this.closed = closed;
+        rowsPerChunk = Math.max(1, EDGES_PER_CHUNK / Math.max(1, 4 * width));
+    }
+
+    @Override
+    /**
+     * Gets the number of chunks the work is split into
+     *
+     * @return the number of chunks
+     */
+    public int chunkCount() {
+        return (height + rowsPerChunk - 1) / rowsPerChunk;
+    }
+
+    @Override
+    void generate(SplittableRandom random, int chunk, LongConsumer out) {
+        int from = chunk * rowsPerChunk;
+        int to = (int)Math.min(height, (long)from + rowsPerChunk);
+        for(int y = from; y < to; y++) {
+            for(int x = 0; x < width; x++) {
+                int v = y * width + x;
+                if(x + 1 < width) {
+                    street(random, v, v + 1, out);
+                }
+                if(y + 1 < height) {
+                    street(random, v, v + width, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Emits a two-way street between two neighbors, unless it is randomly closed
+     *
+     * @param random the random number generator for this chunk
+     * @param v1 one end of the street
+     * @param v2 the other end of the street
+     * @param out receives each packed edge
+     */
+    private void street(SplittableRandom random, int v1, int v2, LongConsumer out) {
+        if(closed > 0 && random.nextDouble() < closed) {
+            return;
+        }
+        out.accept(GraphGenerator.pack(v1, v2));
+        out.accept(GraphGenerator.pack(v2, v1));
+    }
+
+    /**
+     * Checks that a grid's vertices fit in vertex ids
+     *
+     * @param width the number of columns
+     * @param height the number of rows
+     * @return the number of vertices
+     */
+    private static int checkSize(int width, int height) {
+        if(width < 0 || height < 0 || (long)width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("grid dimensions must be non-negative and hold at most 2^31 - 1 vertices");
+        }
+        return width * height;
+    }
+}
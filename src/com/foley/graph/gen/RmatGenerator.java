@@ -0,0 +1,90 @@
+package com.foley.graph.gen;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Generates R-MAT graphs by recursively choosing a quadrant of the adjacency matrix for every bit of the endpoints
+ */
+class RmatGenerator extends ChunkedGenerator {
+    private int scale;
+    private long m;
+    private int a;
+    private int ab;
+    private int abc;
+
+    /**
+     * Creates a new R-MAT graph generator
+     *
+     * @param scale the base two logarithm of the number of vertices
+     * @param edgeFactor the number of edges per vertex
+     * @param a the probability of the top left quadrant
+     * @param b the probability of the top right quadrant
+     * @param c the probability of the bottom left quadrant
+     */
+    RmatGenerator(int scale, int edgeFactor, double a, double b, double c) {
+        super(checkScale(scale));
+        if(edgeFactor < 0) {
+            throw new IllegalArgumentException("the edge factor cannot be negative");
+        }
+        if(a < 0 || b < 0 || c < 0 || a + b + c > 1) {
+            throw new IllegalArgumentException("quadrant probabilities must be non-negative and sum to at most 1");
+        }
+        this.scale = scale;
+        m = (long)edgeFactor << scale;
+        // Quadrants are chosen with 16 random bits each, so four levels are drawn from a single random long
+        this.a = (int)Math.round(a * 65536);
+        ab = (int)Math.round((a + b) * 65536);
+        abc = (int)Math.round((a + b + c) * 65536);
+    }
+
+    @Override
+    /**
+     * Gets the number of chunks the work is split into
+     *
+     * @return the number of chunks
+     */
+    public int chunkCount() {
+        return chunksFor(m);
+    }
+
+    @Override
+    void generate(SplittableRandom random, int chunk, LongConsumer out) {
+        long count = Math.min(EDGES_PER_CHUNK, m - (long)chunk * EDGES_PER_CHUNK);
+        for(long i = 0; i < count; i++) {
+            int u = 0;
+            int v = 0;
+            long bits = 0;
+            int level = 0;
+            for(int bit = 1 << (scale - 1); bit > 0; bit >>>= 1) {
+                if((level++ & 3) == 0) {
+                    bits = random.nextLong();
+                }
+                int r = (int)(bits & 0xFFFF);
+                bits >>>= 16;
+                if(r >= abc) {
+                    u |= bit;
+                    v |= bit;
+                } else if(r >= ab) {
+                    u |= bit;
+                } else if(r >= a) {
+                    v |= bit;
+                }
+            }
+            out.accept(GraphGenerator.pack(u, v));
+        }
+    }
+
+    /**
+     * Checks that a scale fits in a vertex id
+     *
+     * @param scale the base two logarithm of the number of vertices
+     * @return the number of vertices
+     */
+    private static int checkScale(int scale) {
+        if(scale < 1 || scale > 30) {
+            throw new IllegalArgumentException("the scale must be between 1 and 30");
+        }
+        return 1 << scale;
+    }
+}
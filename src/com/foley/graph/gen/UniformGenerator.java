@@ -0,0 +1,47 @@
+package com.foley.graph.gen;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Generates graphs whose edges have both endpoints chosen uniformly at random
+ */
+class UniformGenerator extends ChunkedGenerator {
+    private long m;
+
+    /**
+     * Creates a new uniform random graph generator
+     *
+     * @param n the number of vertices
+     * @param m the number of edges to draw
+     */
+    UniformGenerator(int n, long m) {
+        super(n);
+        if(m < 0) {
+            throw new IllegalArgumentException("a graph cannot have a negative number of edges");
+        }
+        if(m > 0 && n == 0) {
+            throw new IllegalArgumentException("cannot draw edges for a graph with no vertices");
+        }
+        this.m = m;
+    }
+
+    @Override
+    /**
+     * Gets the number of chunks the work is split into
+     *
+     * @return the number of chunks
+     */
+    public int chunkCount() {
+        return chunksFor(m);
+    }
+
+    @Override
+    void generate(SplittableRandom random, int chunk, LongConsumer out) {
+        int n = vertexCount();
+        long count = Math.min(EDGES_PER_CHUNK, m - (long)chunk * EDGES_PER_CHUNK);
+        for(long i = 0; i < count; i++) {
+            out.accept(GraphGenerator.pack(random.nextInt(n), random.nextInt(n)));
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.foley.graph.ingest;
+
+import com.foley.graph.core.Graph;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Funnels mutations from many producer threads into a graph through a single applier thread. Producers enqueue
+ * mutations into a lock-free ring buffer and get back a sequence number without ever touching the graph. The applier
+ * drains the buffer in batches and applies each batch with edge mutations grouped by source vertex, so each vertex's
+ * adjacency is visited once per batch rather than once per edge.
+ * <p>
+ * Within a batch, vertex mutations act as barriers: edge mutations are only regrouped between them, and mutations on
+ * the same source vertex keep their order. Mutations that fail, such as an edge to a vertex that does not exist yet,
+ * are counted and skipped.
+ * <p>
+ * Sequence numbers start at one. {@link #awaitVisible(long)} blocks until a sequence number has been applied, and
+ * {@link #flush()} blocks until everything enqueued so far has been. The graph itself is only safe to read while no
+ * mutations are being applied, for example after a flush while producers are paused
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public class IngestPipeline<V, E> implements Closeable {
+    /**
+     * The number of slots in the ring buffer, used when none is specified
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The largest number of mutations applied per batch, used when none is specified
+     */
+    public static final int DEFAULT_MAX_BATCH = 4096;
+
+    /**
+     * The bit of the producer gate that is set once the pipeline starts closing
+     */
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private Graph<V, E> g;
+    private RingBuffer<Mutation<V, E>> ring;
+    private int maxBatch;
+    private Thread applier;
+    private volatile boolean running;
+    private AtomicInteger gate;
+    private volatile long applied;
+    private volatile long failures;
+    private volatile RuntimeException lastFailure;
+    private volatile long batches;
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+    private final Object visibility = new Object();
+    private int waiters;
+
+    /**
+     * Creates a new ingest pipeline with the default capacity and batch size
+     *
+     * @param g the graph to apply mutations to
+     */
+    public IngestPipeline(Graph<V, E> g) {
+        this(g, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Creates a new ingest pipeline and starts its applier thread
+     *
+     * @param g the graph to apply mutations to
+     * @param capacity the number of slots in the ring buffer, rounded up to a power of two
+     * @param maxBatch the largest number of mutations applied per batch
+     */
+    public IngestPipeline(Graph<V, E> g, int capacity, int maxBatch) {
+        if(g == null) {
+            throw new IllegalArgumentException("cannot ingest into a null graph");
+        }
+        if(maxBatch < 1) {
+            throw new IllegalArgumentException("batches must hold at least one mutation");
+        }
+        this.g = g;
+        this.maxBatch = maxBatch;
+        ring = new RingBuffer<>(capacity);
+        gate = new AtomicInteger();
+        running = true;
+        applier = new Thread(this::run, "graph-ingest-applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    /**
+     * Enqueues the addition of vertex {@code v}
+     *
+     * @param v the vertex to add
+     * @return the sequence number of the mutation
+     */
+    public long addVertex(V v) {
+        return enqueue(new Mutation<>(Mutation.ADD_VERTEX, v, null, null));
+    }
+
+    /**
+     * Enqueues the removal of vertex {@code v}
+     *
+     * @param v the vertex to remove
+     * @return the sequence number of the mutation
+     */
+    public long removeVertex(V v) {
+        return enqueue(new Mutation<>(Mutation.REMOVE_VERTEX, v, null, null));
+    }
+
+    /**
+     * Enqueues the addition of an edge between vertices {@code v1} and {@code v2} with a cost of {@code cost}
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return the sequence number of the mutation
+     */
+    public long addEdge(V v1, V v2, E cost) {
+        return enqueue(new Mutation<>(Mutation.ADD_EDGE, v1, v2, cost));
+    }
+
+    /**
+     * Enqueues the removal of the edge between vertices {@code v1} and {@code v2} with a cost of {@code cost}
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return the sequence number of the mutation
+     */
+    public long removeEdge(V v1, V v2, E cost) {
+        return enqueue(new Mutation<>(Mutation.REMOVE_EDGE, v1, v2, cost));
+    }
+
+    /**
+     * Blocks until the mutation with sequence number {@code seq}, and every mutation before it, has been applied
+     *
+     * @param seq the sequence number to wait for
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitVisible(long seq) throws InterruptedException {
+        if(applied >= seq) {
+            return;
+        }
+        synchronized(visibility) {
+            waiters++;
+            try {
+                while(applied < seq) {
+                    if(!running && !applier.isAlive()) {
+                        throw new IllegalStateException("the ingest pipeline was closed before sequence " + seq + " was applied");
+                    }
+                    visibility.wait(10);
+                }
+            } finally {
+                waiters--;
+            }
+        }
+    }
+
+    /**
+     * Blocks until every mutation enqueued before this call has been applied
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        awaitVisible(ring.claimed());
+    }
+
+    /**
+     * Gets the sequence number of the last mutation applied to the graph
+     *
+     * @return the sequence number of the last applied mutation
+     */
+    public long getAppliedSequence() {
+        return applied;
+    }
+
+    /**
+     * Gets the number of mutations waiting in the ring buffer
+     *
+     * @return the number of mutations waiting to be applied
+     */
+    public long getQueueDepth() {
+        return ring.depth();
+    }
+
+    /**
+     * Gets the number of batches applied so far
+     *
+     * @return the number of batches applied so far
+     */
+    public long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Gets the number of mutations in the most recent batch
+     *
+     * @return the size of the most recent batch
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /**
+     * Gets the number of mutations in the largest batch so far
+     *
+     * @return the size of the largest batch so far
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Gets the mean number of mutations per batch
+     *
+     * @return the mean batch size, or {@code 0} if no batch has been applied
+     */
+    public double getAverageBatchSize() {
+        long b = batches;
+        return b == 0 ? 0 : (double)applied / b;
+    }
+
+    /**
+     * Gets the number of mutations that threw when they were applied
+     *
+     * @return the number of failed mutations
+     */
+    public long getFailureCount() {
+        return failures;
+    }
+
+    /**
+     * Gets the exception thrown by the most recent failed mutation
+     *
+     * @return the most recent failure, or {@code null} if no mutation has failed
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    /**
+     * Applies every mutation enqueued so far, then stops the applier thread
+     */
+    public void close() {
+        // Shut the gate to new producers, then wait out the ones already past it so that their mutations are in the
+        // buffer before the applier is told to stop. The applier keeps draining meanwhile, so none of them can be stuck
+        // on a full buffer
+        gate.getAndUpdate(s -> s | CLOSED);
+        while((gate.get() & ~CLOSED) != 0) {
+            Thread.onSpinWait();
+        }
+        try {
+            flush();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running = false;
+        LockSupport.unpark(applier);
+        try {
+            applier.join();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Places a mutation in the ring buffer
+     *
+     * @param m the mutation to enqueue
+     * @return the sequence number of the mutation
+     */
+    private long enqueue(Mutation<V, E> m) {
+        // The low bits of the gate count producers that are placing a mutation
+        int s;
+        do {
+            s = gate.get();
+            if((s & CLOSED) != 0) {
+                throw new IllegalStateException("cannot enqueue into a closed ingest pipeline");
+            }
+        } while(!gate.compareAndSet(s, s + 1));
+        try {
+            return ring.put(m) + 1;
+        } finally {
+            gate.decrementAndGet();
+        }
+    }
+
+    /**
+     * The applier loop: drains batches until the pipeline is closed and the buffer is empty
+     */
+    private void run() {
+        var batch = new ArrayList<Mutation<V, E>>(maxBatch);
+        int idle = 0;
+        while(running || ring.depth() > 0) {
+            int n = ring.drain(batch, maxBatch);
+            if(n == 0) {
+                // Spin briefly for new work before parking
+                if(++idle > 100) {
+                    LockSupport.parkNanos(50_000);
+                } else {
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+            idle = 0;
+            apply(batch);
+            batch.clear();
+            batches++;
+            lastBatchSize = n;
+            if(n > maxBatchSize) {
+                maxBatchSize = n;
+            }
+            applied += n;
+            synchronized(visibility) {
+                if(waiters > 0) {
+                    visibility.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a batch, regrouping the edge mutations between vertex mutations by source vertex
+     *
+     * @param batch the mutations to apply, in sequence order
+     */
+    private void apply(List<Mutation<V, E>> batch) {
+        var bySource = new LinkedHashMap<V, List<Mutation<V, E>>>();
+        for(var m : batch) {
+            if(m.isEdgeMutation()) {
+                bySource.computeIfAbsent(m.v1, k -> new ArrayList<>()).add(m);
+            } else {
+                applyGrouped(bySource);
+                applyOne(m);
+            }
+        }
+        applyGrouped(bySource);
+    }
+
+    /**
+     * Applies and clears a group of edge mutations, one source vertex at a time
+     *
+     * @param bySource the pending edge mutations keyed by source vertex
+     */
+    private void applyGrouped(Map<V, List<Mutation<V, E>>> bySource) {
+        for(var group : bySource.values()) {
+            for(var m : group) {
+                applyOne(m);
+            }
+        }
+        bySource.clear();
+    }
+
+    /**
+     * Applies a single mutation to the graph, recording it if it fails
+     *
+     * @param m the mutation to apply
+     */
+    private void applyOne(Mutation<V, E> m) {
+        try {
+            switch(m.op) {
+                case Mutation.ADD_VERTEX:
+                    g.addVertex(m.v1);
+                    break;
+                case Mutation.REMOVE_VERTEX:
+                    g.removeVertex(m.v1);
+                    break;
+                case Mutation.ADD_EDGE:
+                    g.addEdge(m.v1, m.v2, m.cost);
+                    break;
+                case Mutation.REMOVE_EDGE:
+                    g.removeEdge(m.v1, m.v2, m.cost);
+                    break;
+                default:
+                    throw new IllegalStateException("unknown mutation type " + m.op);
+            }
+        } catch(RuntimeException e) {
+            failures++;
+            lastFailure = e;
+        }
+    }
+
+    /**
+     * A single queued mutation
+     *
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     */
+    private static class Mutation<V, E> {
+        private static final byte ADD_VERTEX = 1;
+        private static final byte REMOVE_VERTEX = 2;
+        private static final byte ADD_EDGE = 3;
+        private static final byte REMOVE_EDGE = 4;
+
+        private byte op;
+        private V v1;
+        private V v2;
+        private E cost;
+
+        private Mutation(byte op, V v1, V v2, E cost) {
+            this.op = op;
+            this.v1 = v1;
+            this.v2 = v2;
+            this.cost = cost;
+        }
+
+        private boolean isEdgeMutation() {
+            return op == ADD_EDGE || op == REMOVE_EDGE;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.foley.graph.ingest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded, lock-free queue for many producers and a single consumer. Every slot carries a sequence number that tells
+ * producers when the slot is free and tells the consumer when it has been filled, so producers only contend on a
+ * single compare-and-set of the shared tail and never on a lock
+ *
+ * @param <T> the type of element in the queue
+ */
+class RingBuffer<T> {
+    private Object[] slots;
+    private AtomicLongArray sequences;
+    private int mask;
+    private AtomicLong tail;
+    private volatile long head;
+
+    /**
+     * Creates a new ring buffer
+     *
+     * @param capacity the number of slots, rounded up to a power of two
+     */
+    RingBuffer(int capacity) {
+        if(capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("ring buffer capacity must be between 2 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        slots = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for(int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+        tail = new AtomicLong();
+    }
+
+    /**
+     * Adds an element, waiting for the consumer to free a slot if the buffer is full
+     *
+     * @param element the element to add
+     * @return the position the element was written to; positions start at zero and increase by one per element
+     */
+    long put(T element) {
+        long pos;
+        int idleSpins = 0;
+        while(true) {
+            pos = tail.get();
+            long dif = sequences.get((int)pos & mask) - pos;
+            if(dif == 0) {
+                if(tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if(dif < 0) {
+                // Full: back off until the consumer catches up
+                if(++idleSpins > 64) {
+                    LockSupport.parkNanos(1_000);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+        int idx = (int)pos & mask;
+        slots[idx] = element;
+        // Publishes the element to the consumer
+        sequences.lazySet(idx, pos + 1);
+        return pos;
+    }
+
+    /**
+     * Moves up to {@code max} published elements into {@code out}. Must only be called by the consumer thread
+     *
+     * @param out the list to drain into
+     * @param max the largest number of elements to drain
+     * @return the number of elements drained
+     */
+    @SuppressWarnings("unchecked")
+    int drain(List<T> out, int max) {
+        long h = head;
+        int n = 0;
+        while(n < max) {
+            int idx = (int)h & mask;
+            if(sequences.get(idx) != h + 1) {
+                break;
+            }
+            out.add((T)slots[idx]);
+            slots[idx] = null;
+            // Hands the slot back to producers for the next lap
+            sequences.lazySet(idx, h + slots.length);
+            h++;
+            n++;
+        }
+        head = h;
+        return n;
+    }
+
+    /**
+     * Gets the number of positions claimed by producers
+     *
+     * @return the number of positions claimed by producers
+     */
+    long claimed() {
+        return tail.get();
+    }
+
+    /**
+     * Gets the number of elements waiting to be drained, including any being written
+     *
+     * @return the number of elements waiting to be drained
+     */
+    long depth() {
+        return Math.max(0, tail.get() - head);
+    }
+}
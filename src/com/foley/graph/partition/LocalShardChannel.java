@@ -0,0 +1,50 @@
+package com.foley.graph.partition;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A shard that lives in this process and is owned by a dedicated thread
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public class LocalShardChannel<V, E> implements ShardChannel<V, E> {
+    private Shard<V, E> shard;
+    private ExecutorService owner;
+
+    /**
+     * Creates a new shard and starts the thread that owns it
+     *
+     * @param name the name of the owning thread
+     */
+    public LocalShardChannel(String name) {
+        shard = new Shard<>();
+        owner = Executors.newSingleThreadExecutor(r -> {
+            var t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    /**
+     * Runs the operation on the thread that owns the shard
+     *
+     * @param op the operation to run
+     * @param <R> the type of result of the operation
+     * @return a future that completes with the result of the operation
+     */
+    public <R> CompletableFuture<R> submit(ShardOp<V, E, R> op) {
+        return CompletableFuture.supplyAsync(() -> op.apply(shard), owner);
+    }
+
+    @Override
+    /**
+     * Stops the thread that owns the shard
+     */
+    public void close() {
+        owner.shutdown();
+    }
+}
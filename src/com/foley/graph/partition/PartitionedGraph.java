@@ -0,0 +1,670 @@
+package com.foley.graph.partition;
+
+import com.foley.graph.core.BasicEdge;
+import com.foley.graph.core.Edge;
+import com.foley.graph.core.Graph;
+import com.foley.graph.core.GraphListener;
+import com.foley.graph.core.GraphListenerSupport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A graph whose vertices are split across a number of shards. Each vertex, along with its outgoing edges, is owned by
+ * the shard chosen by a {@code Partitioner}, and each shard is owned by its own thread or process. Single-vertex calls
+ * are routed to the owning shard, and whole-graph calls are broadcast to every shard in parallel and their results
+ * merged. Like {@code BasicHashGraph}, adding an edge that already exists overwrites its cost.
+ * <p>
+ * Shards can live in this process through {@link LocalShardChannel} or in separate local processes through
+ * {@link SocketShardChannel}, which makes it possible to try out multi-node layouts on one machine.
+ * <p>
+ * {@link #traverse(Object)} runs a vertex-centric breadth first search in supersteps: each shard marks the frontier
+ * vertices it owns, expands them locally, and the neighbors it finds are sent as messages to the shards that own them
+ * for the next superstep. Shards only hold a channel back to this graph, not to each other, so messages are relayed
+ * through this graph between supersteps.
+ * <p>
+ * An edge is only added while its destination exists. Adding edges and removing vertices exclude each other, so a
+ * vertex cannot be removed between the check for an edge's destination and the edge being stored
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public class PartitionedGraph<V, E> implements Graph<V, E>, Closeable {
+    private List<ShardChannel<V, E>> shards;
+    private Partitioner<V> partitioner;
+    private GraphListenerSupport<V, E> listeners;
+    private ReadWriteLock removal;
+
+    /**
+     * Creates a new partitioned graph over already connected shards
+     *
+     * @param shards the channels to each shard
+     * @param partitioner decides which shard owns each vertex
+     */
+    public PartitionedGraph(List<? extends ShardChannel<V, E>> shards, Partitioner<V> partitioner) {
+        if(shards == null || shards.isEmpty() || partitioner == null) {
+            throw new IllegalArgumentException("a partitioned graph needs at least one shard and a partitioner");
+        }
+        this.shards = new ArrayList<>(shards);
+        this.partitioner = partitioner;
+        listeners = new GraphListenerSupport<>();
+        removal = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Creates a new hash partitioned graph whose shards each run on their own thread in this process
+     *
+     * @param shardCount the number of shards
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a new partitioned graph
+     */
+    public static <V, E> PartitionedGraph<V, E> local(int shardCount) {
+        return local(shardCount, Partitioner.hash());
+    }
+
+    /**
+     * Creates a new partitioned graph whose shards each run on their own thread in this process
+     *
+     * @param shardCount the number of shards
+     * @param partitioner decides which shard owns each vertex
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a new partitioned graph
+     */
+    public static <V, E> PartitionedGraph<V, E> local(int shardCount, Partitioner<V> partitioner) {
+        if(shardCount < 1) {
+            throw new IllegalArgumentException("a partitioned graph needs at least one shard");
+        }
+        var channels = new ArrayList<ShardChannel<V, E>>();
+        for(int i = 0; i < shardCount; i++) {
+            channels.add(new LocalShardChannel<>("graph-shard-" + i));
+        }
+        return new PartitionedGraph<>(channels, partitioner);
+    }
+
+    /**
+     * Creates a new partitioned graph whose shards each run in their own local process, reached over loopback sockets.
+     * Vertices and costs must be {@code Serializable}
+     *
+     * @param shardCount the number of shards
+     * @param partitioner decides which shard owns each vertex
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a new partitioned graph
+     * @throws IOException if a shard process cannot be started
+     */
+    public static <V, E> PartitionedGraph<V, E> processes(int shardCount, Partitioner<V> partitioner) throws IOException {
+        if(shardCount < 1) {
+            throw new IllegalArgumentException("a partitioned graph needs at least one shard");
+        }
+        var channels = new ArrayList<ShardChannel<V, E>>();
+        try {
+            for(int i = 0; i < shardCount; i++) {
+                channels.add(SocketShardChannel.spawn());
+            }
+        } catch(IOException e) {
+            for(var c : channels) {
+                c.close();
+            }
+            throw e;
+        }
+        return new PartitionedGraph<>(channels, partitioner);
+    }
+
+    /**
+     * The number of shards
+     *
+     * @return the number of shards
+     */
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Gets the shard that owns vertex {@code v}
+     *
+     * @param v the vertex to place
+     * @return the index of the owning shard
+     */
+    public int shardOf(V v) {
+        return partitioner.shardOf(v, shards.size());
+    }
+
+    /**
+     * Gets the number of vertices owned by each shard
+     *
+     * @return the number of vertices in each shard, indexed by shard
+     */
+    public int[] shardSizes() {
+        List<Integer> sizes = broadcast(s -> s.getAdjacency().size());
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Runs a breadth first search from {@code source} in supersteps across the shards
+     *
+     * @param source the vertex to start from
+     * @return the number of hops from {@code source} to every vertex it can reach
+     */
+    public Map<V, Integer> traverse(V source) {
+        if(source == null) {
+            throw new IllegalArgumentException("cannot traverse from a null vertex");
+        }
+        if(!containsVertex(source)) {
+            return Map.of();
+        }
+        broadcast(PartitionedGraph::beginTraversal);
+        var messages = new HashMap<Integer, Set<V>>();
+        messages.computeIfAbsent(shardOf(source), k -> new HashSet<>()).add(source);
+        for(int level = 0; !messages.isEmpty(); level++) {
+            var futures = new ArrayList<CompletableFuture<HashSet<V>>>();
+            for(var entry : messages.entrySet()) {
+                futures.add(shards.get(entry.getKey()).submit(visit(new HashSet<>(entry.getValue()), level)));
+            }
+            // Route each discovered neighbor to the shard that owns it for the next superstep
+            messages = new HashMap<>();
+            for(var future : futures) {
+                for(V w : join(future)) {
+                    messages.computeIfAbsent(shardOf(w), k -> new HashSet<>()).add(w);
+                }
+            }
+        }
+        var levels = new HashMap<V, Integer>();
+        for(HashMap<V, Integer> part : this.<HashMap<V, Integer>>broadcast(s -> new HashMap<>(s.getLevels()))) {
+            levels.putAll(part);
+        }
+        return levels;
+    }
+
+    @Override
+    /**
+     * Clears all vertices and edges from every shard
+     */
+    public void clear() {
+        broadcast(s -> {
+            s.getAdjacency().clear();
+            s.getLevels().clear();
+            return null;
+        });
+        listeners.fireGraphCleared();
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the graph contains the vertex {@code v}
+     *
+     * @param v the vertex to check
+     * @return {@code true} if the graph contains the vertex {@code v}
+     */
+    public boolean contains(V v) {
+        return containsVertex(v);
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the graph has no vertices
+     *
+     * @return {@code true} if the graph has no vertices
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    /**
+     * The number of vertices in the graph, summed across every shard
+     *
+     * @return the number of vertices in the graph
+     */
+    public int size() {
+        int size = 0;
+        for(int s : shardSizes()) {
+            size += s;
+        }
+        return size;
+    }
+
+    @Override
+    /**
+     * Adds a vertex {@code v} to the shard that owns it
+     *
+     * @param v the vertex to add
+     * @return {@code true} if the vertex was successfully added to the graph
+     */
+    public boolean addVertex(V v) {
+        if(v == null) {
+            throw new IllegalArgumentException("cannot add a null vertex");
+        }
+        boolean b = call(v, addVertexOp(v));
+        if(b) {
+            listeners.fireVertexAdded(v);
+        }
+        return b;
+    }
+
+    @Override
+    /**
+     * Adds an edge to the graph between vertices {@code v1} and {@code v2} with a cost of {@code cost}. The edge is
+     * stored by the shard that owns {@code v1}
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return {@code true} if the edge was successfully added to the graph
+     */
+    public boolean addEdge(V v1, V v2, E cost) {
+        if(v1 == null || v2 == null || cost == null) {
+            throw new IllegalArgumentException("Cannot add an edge for a null vertex or cost");
+        }
+        boolean b;
+        // Vertices cannot be removed while the destination is checked and the edge is stored
+        removal.readLock().lock();
+        try {
+            // When both vertices live on one shard the check is part of the same operation, otherwise the destination's
+            // shard is asked first
+            boolean sameShard = shardOf(v1) == shardOf(v2);
+            if(!sameShard && !containsVertex(v2)) {
+                throw new IllegalArgumentException("Both vertices must be in the graph to add an edge");
+            }
+            b = call(v1, addEdgeOp(v1, v2, cost, sameShard));
+        } finally {
+            removal.readLock().unlock();
+        }
+        if(b) {
+            listeners.fireEdgeAdded(v1, v2, cost);
+        }
+        return b;
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the graph contains the vertex {@code v}
+     *
+     * @param v the vertex to check
+     * @return {@code true} if the graph contains vertex {@code v}
+     */
+    public boolean containsVertex(V v) {
+        if(v == null) {
+            return false;
+        }
+        return call(v, containsOp(v));
+    }
+
+    @Override
+    /**
+     * Removes a vertex {@code v} from the graph. Its outgoing edges are dropped by its owning shard, and its incoming
+     * edges are dropped by every shard
+     *
+     * @param v the vertex to remove
+     * @return {@code true} if the vertex was successfully removed from the graph
+     */
+    public boolean removeVertex(V v) {
+        if(v == null) {
+            return false;
+        }
+        HashMap<V, E> outgoing;
+        List<HashMap<V, E>> incoming;
+        removal.writeLock().lock();
+        try {
+            outgoing = call(v, removeVertexOp(v));
+            if(outgoing == null) {
+                return false;
+            }
+            incoming = broadcast(removeIncomingOp(v));
+        } finally {
+            removal.writeLock().unlock();
+        }
+        for(var e : outgoing.entrySet()) {
+            listeners.fireEdgeRemoved(v, e.getKey(), e.getValue());
+        }
+        for(var part : incoming) {
+            for(var e : part.entrySet()) {
+                listeners.fireEdgeRemoved(e.getKey(), v, e.getValue());
+            }
+        }
+        listeners.fireVertexRemoved(v);
+        return true;
+    }
+
+    @Override
+    /**
+     * Removes an edge from the graph between source vertex {@code v1}, destination vertex {@code v2}, and a weight of {@code cost}
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return {@code true} if the edge was successfully removed from the graph
+     */
+    public boolean removeEdge(V v1, V v2, E cost) {
+        if(v1 == null || v2 == null) {
+            return false;
+        }
+        E old = call(v1, removeEdgeOp(v1, v2));
+        if(old == null) {
+            return false;
+        }
+        listeners.fireEdgeRemoved(v1, v2, old);
+        return true;
+    }
+
+    @Override
+    /**
+     * Returns the cost for traveling along the edge connecting source vertex {@code v1} and destination vertex {@code v2}.
+     * Returns null if there is no existing edge connecting the two vertices in the graph
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @return the cost to travel along the edge connecting {@code v1} and {@code v2}
+     */
+    public E getEdgeCost(V v1, V v2) {
+        if(v1 == null || v2 == null) {
+            return null;
+        }
+        return call(v1, edgeCostOp(v1, v2));
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if an edge exists in the graph between source vertex {@code v1} and destination vertex {@code v2}
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @return {@code true} if an edge exists between the two nodes in the graph
+     */
+    public boolean areAdjacent(V v1, V v2) {
+        return getEdgeCost(v1, v2) != null;
+    }
+
+    @Override
+    /**
+     * Returns a copy of the set of vertices from the graph that are adjacent to vertex {@code v}
+     *
+     * @param v the source vertex
+     * @return a set of vertices adjacent to {@code v}, or {@code null} if {@code v} is not in the graph
+     */
+    public Set<V> getAdjacent(V v) {
+        if(v == null) {
+            return null;
+        }
+        return call(v, adjacentOp(v));
+    }
+
+    @Override
+    /**
+     * Returns a copy of the set of all vertices, gathered from every shard
+     *
+     * @return a set with all of the vertices in the graph contained within it
+     */
+    public Set<V> getVertices() {
+        var vertices = new HashSet<V>();
+        for(HashSet<V> part : this.<HashSet<V>>broadcast(s -> new HashSet<>(s.getAdjacency().keySet()))) {
+            vertices.addAll(part);
+        }
+        return Collections.unmodifiableSet(vertices);
+    }
+
+    @Override
+    /**
+     * Returns a set with all the edges originating from source vertex {@code v}
+     *
+     * @param v the source vertex
+     * @return a set with all the edges originating from source vertex {@code v}
+     */
+    public Set<Edge<V, E>> getEdges(V v) {
+        if(v == null) {
+            throw new IllegalArgumentException("cannot get edges for a null vertex");
+        }
+        HashMap<V, E> out = call(v, outgoingOp(v));
+        if(out == null) {
+            return Collections.emptySet();
+        }
+        var edges = new HashSet<Edge<V, E>>();
+        for(var e : out.entrySet()) {
+            edges.add(BasicEdge.buildEdge(v, e.getKey(), e.getValue()));
+        }
+        return edges;
+    }
+
+    @Override
+    /**
+     * Returns a set with all of the edges in the graph, gathered from every shard
+     *
+     * @return a set with all the edges in the graph
+     */
+    public Set<Edge<V, E>> getAllEdges() {
+        var edges = new HashSet<Edge<V, E>>();
+        for(HashMap<V, HashMap<V, E>> part : this.<HashMap<V, HashMap<V, E>>>broadcast(PartitionedGraph::copyAdjacency)) {
+            for(var row : part.entrySet()) {
+                for(var e : row.getValue().entrySet()) {
+                    edges.add(BasicEdge.buildEdge(row.getKey(), e.getKey(), e.getValue()));
+                }
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    /**
+     * Registers a listener that will be notified of every mutation made through this graph
+     *
+     * @param l the listener to register
+     */
+    public void addGraphListener(GraphListener<V, E> l) {
+        listeners.addListener(l);
+    }
+
+    @Override
+    /**
+     * Unregisters a listener previously registered with {@link #addGraphListener(GraphListener)}
+     *
+     * @param l the listener to unregister
+     * @return {@code true} if the listener was registered with the graph
+     */
+    public boolean removeGraphListener(GraphListener<V, E> l) {
+        return listeners.removeListener(l);
+    }
+
+    @Override
+    /**
+     * Closes the channel to every shard
+     */
+    public void close() throws IOException {
+        IOException failure = null;
+        for(var s : shards) {
+            try {
+                s.close();
+            } catch(IOException e) {
+                failure = e;
+            }
+        }
+        if(failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Runs an operation on the shard that owns {@code v} and waits for its result
+     *
+     * @param v the vertex whose shard should run the operation
+     * @param op the operation to run
+     * @param <R> the type of result of the operation
+     * @return the result of the operation
+     */
+    private <R> R call(V v, ShardOp<V, E, R> op) {
+        return join(shards.get(shardOf(v)).submit(op));
+    }
+
+    /**
+     * Runs an operation on every shard in parallel and waits for all of the results
+     *
+     * @param op the operation to run
+     * @param <R> the type of result of the operation
+     * @return the result from each shard, indexed by shard
+     */
+    private <R> List<R> broadcast(ShardOp<V, E, R> op) {
+        var futures = new ArrayList<CompletableFuture<R>>(shards.size());
+        for(var s : shards) {
+            futures.add(s.submit(op));
+        }
+        var results = new ArrayList<R>(futures.size());
+        for(var f : futures) {
+            results.add(join(f));
+        }
+        return results;
+    }
+
+    /**
+     * Waits for a shard's result, rethrowing the shard's exception if the operation failed
+     *
+     * @param future the pending result
+     * @param <R> the type of result
+     * @return the result
+     */
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch(CompletionException e) {
+            Throwable cause = e.getCause();
+            while(cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            if(cause instanceof IOException) {
+                throw new UncheckedIOException((IOException)cause);
+            }
+            throw e;
+        }
+    }
+
+    // Shard operations are built by static methods so that they only capture their arguments, never this graph
+
+    private static <V, E> ShardOp<V, E, Boolean> addVertexOp(V v) {
+        return s -> {
+            if(s.getAdjacency().containsKey(v)) {
+                return false;
+            }
+            s.getAdjacency().put(v, new HashMap<>());
+            return true;
+        };
+    }
+
+    private static <V, E> ShardOp<V, E, Boolean> containsOp(V v) {
+        return s -> s.getAdjacency().containsKey(v);
+    }
+
+    private static <V, E> ShardOp<V, E, Boolean> addEdgeOp(V v1, V v2, E cost, boolean checkDestination) {
+        return s -> {
+            var out = s.getAdjacency().get(v1);
+            if(out == null || (checkDestination && !s.getAdjacency().containsKey(v2))) {
+                throw new IllegalArgumentException("Both vertices must be in the graph to add an edge");
+            }
+            if(Objects.equals(cost, out.get(v2))) {
+                return false;
+            }
+            out.put(v2, cost);
+            return true;
+        };
+    }
+
+    private static <V, E> ShardOp<V, E, E> removeEdgeOp(V v1, V v2) {
+        return s -> {
+            var out = s.getAdjacency().get(v1);
+            return out == null ? null : out.remove(v2);
+        };
+    }
+
+    private static <V, E> ShardOp<V, E, HashMap<V, E>> removeVertexOp(V v) {
+        return s -> {
+            var out = s.getAdjacency().remove(v);
+            s.getLevels().remove(v);
+            return out == null ? null : new HashMap<>(out);
+        };
+    }
+
+    private static <V, E> ShardOp<V, E, HashMap<V, E>> removeIncomingOp(V v) {
+        return s -> {
+            var removed = new HashMap<V, E>();
+            for(var row : s.getAdjacency().entrySet()) {
+                E cost = row.getValue().remove(v);
+                if(cost != null) {
+                    removed.put(row.getKey(), cost);
+                }
+            }
+            return removed;
+        };
+    }
+
+    private static <V, E> ShardOp<V, E, E> edgeCostOp(V v1, V v2) {
+        return s -> {
+            var out = s.getAdjacency().get(v1);
+            return out == null ? null : out.get(v2);
+        };
+    }
+
+    private static <V, E> ShardOp<V, E, HashSet<V>> adjacentOp(V v) {
+        return s -> {
+            var out = s.getAdjacency().get(v);
+            return out == null ? null : new HashSet<>(out.keySet());
+        };
+    }
+
+    private static <V, E> ShardOp<V, E, HashMap<V, E>> outgoingOp(V v) {
+        return s -> {
+            var out = s.getAdjacency().get(v);
+            return out == null ? null : new HashMap<>(out);
+        };
+    }
+
+    private static <V, E> HashMap<V, HashMap<V, E>> copyAdjacency(Shard<V, E> s) {
+        var copy = new HashMap<V, HashMap<V, E>>();
+        for(var row : s.getAdjacency().entrySet()) {
+            copy.put(row.getKey(), new HashMap<>(row.getValue()));
+        }
+        return copy;
+    }
+
+    private static <V, E> Void beginTraversal(Shard<V, E> s) {
+        s.getLevels().clear();
+        return null;
+    }
+
+    /**
+     * Builds the superstep operation of a traversal: marks the unvisited vertices among {@code frontier} with
+     * {@code level} and returns the neighbors of the newly marked vertices
+     *
+     * @param frontier the vertices this shard was sent in the last superstep
+     * @param level the level of the current superstep
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return the superstep operation
+     */
+    private static <V, E> ShardOp<V, E, HashSet<V>> visit(HashSet<V> frontier, int level) {
+        return s -> {
+            var next = new HashSet<V>();
+            for(V v : frontier) {
+                var out = s.getAdjacency().get(v);
+                if(out == null || s.getLevels().putIfAbsent(v, level) != null) {
+                    continue;
+                }
+                next.addAll(out.keySet());
+            }
+            return next;
+        };
+    }
+}
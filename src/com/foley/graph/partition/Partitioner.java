@@ -0,0 +1,63 @@
+package com.foley.graph.partition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decides which shard of a partitioned graph owns a vertex. The owning shard stores the vertex and all of its outgoing
+ * edges
+ *
+ * @param <V> The type of vertices in the graph
+ */
+public interface Partitioner<V> {
+    /**
+     * Gets the shard that owns vertex {@code v}
+     *
+     * @param v the vertex to place
+     * @param shards the number of shards
+     * @return the index of the owning shard, in {@code [0, shards)}
+     */
+    int shardOf(V v, int shards);
+
+    /**
+     * Creates a partitioner that spreads vertices across shards by hash code
+     *
+     * @param <V> The type of vertices in the graph
+     * @return a hash partitioner
+     */
+    static <V> Partitioner<V> hash() {
+        return (v, shards) -> {
+            int h = v.hashCode();
+            // Spread the high bits down so that sequential keys do not all land in the same shards
+            h ^= (h >>> 16);
+            h *= 0x45d9f3b;
+            h ^= (h >>> 16);
+            return Math.floorMod(h, shards);
+        };
+    }
+
+    /**
+     * Creates a partitioner that places vertices into shards by ranges of their natural order. Shard {@code i} holds
+     * the vertices below {@code bounds.get(i)} and at or above the previous bound; the last shard holds everything at
+     * or above the final bound
+     *
+     * @param bounds the sorted upper bounds of every shard but the last
+     * @param <V> The type of vertices in the graph
+     * @return a range partitioner
+     */
+    static <V extends Comparable<? super V>> Partitioner<V> range(List<V> bounds) {
+        if(bounds == null) {
+            throw new IllegalArgumentException("cannot build a range partitioner from null bounds");
+        }
+        var sorted = new ArrayList<>(bounds);
+        return (v, shards) -> {
+            if(sorted.size() != shards - 1) {
+                throw new IllegalStateException("a range partitioner with " + sorted.size() + " bounds needs "
+                        + (sorted.size() + 1) + " shards");
+            }
+            int i = Collections.binarySearch(sorted, v);
+            return i >= 0 ? i + 1 : -i - 1;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.foley.graph.partition;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The portion of a partitioned graph owned by a single shard: a set of vertices and their outgoing edges, plus the
+ * per-vertex state of the traversal that is currently running. A shard is only ever touched by the thread or process
+ * that owns it
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public class Shard<V, E> {
+    private Map<V, Map<V, E>> adjacency;
+    private Map<V, Integer> levels;
+
+    /**
+     * Creates a new empty shard
+     */
+    public Shard() {
+        adjacency = new HashMap<>();
+        levels = new HashMap<>();
+    }
+
+    /**
+     * Gets the outgoing edges of every vertex owned by this shard, keyed by source and then destination vertex
+     *
+     * @return the adjacency of the vertices owned by this shard
+     */
+    public Map<V, Map<V, E>> getAdjacency() {
+        return adjacency;
+    }
+
+    /**
+     * Gets the traversal level of every vertex owned by this shard that the current traversal has reached
+     *
+     * @return the traversal level of each reached vertex
+     */
+    public Map<V, Integer> getLevels() {
+        return levels;
+    }
+}
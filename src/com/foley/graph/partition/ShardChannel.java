@@ -0,0 +1,22 @@
+package com.foley.graph.partition;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The transport used to reach a shard. Operations submitted through one channel run one at a time, in submission
+ * order, on the thread that owns the shard
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public interface ShardChannel<V, E> extends Closeable {
+    /**
+     * Submits an operation to run against the shard
+     *
+     * @param op the operation to run
+     * @param <R> the type of result of the operation
+     * @return a future that completes with the result of the operation, or exceptionally if the operation threw
+     */
+    <R> CompletableFuture<R> submit(ShardOp<V, E, R> op);
+}
@@ -0,0 +1,23 @@
+package com.foley.graph.partition;
+
+import java.io.Serializable;
+
+/**
+ * An operation that runs against a single shard on the shard's own thread. Operations are serializable so that they can
+ * be sent to shards in other processes; they must only capture serializable values, and their results must be
+ * serializable too
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ * @param <R> the type of result of the operation
+ */
+@FunctionalInterface
+public interface ShardOp<V, E, R> extends Serializable {
+    /**
+     * Runs the operation
+     *
+     * @param shard the shard to run against
+     * @return the result of the operation
+     */
+    R apply(Shard<V, E> shard);
+}
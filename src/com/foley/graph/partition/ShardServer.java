@@ -0,0 +1,74 @@
+package com.foley.graph.partition;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+
+/**
+ * Hosts a single shard in its own process. The server listens on the loopback interface, prints the port it bound to as
+ * {@code PORT <number>} on standard output, accepts one {@link SocketShardChannel} connection, and runs the operations
+ * sent over it until the connection is closed
+ */
+public class ShardServer {
+    /**
+     * Main entry-point for a shard process
+     *
+     * @param args an optional port to listen on; by default any free port is used
+     * @throws IOException if the connection fails
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        try(var server = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+            System.out.println("PORT " + server.getLocalPort());
+            System.out.flush();
+            try(var socket = server.accept()) {
+                socket.setTcpNoDelay(true);
+                var out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                out.flush();
+                var in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+                serve(new Shard<>(), in, out);
+            }
+        }
+    }
+
+    /**
+     * Runs operations against the shard until the client disconnects
+     *
+     * @param shard the shard hosted by this process
+     * @param in the stream operations arrive on
+     * @param out the stream results are sent on
+     * @throws IOException if the connection fails
+     */
+    @SuppressWarnings("unchecked")
+    private static void serve(Shard<Object, Object> shard, ObjectInputStream in, ObjectOutputStream out) throws IOException {
+        while(true) {
+            ShardOp<Object, Object, Object> op;
+            try {
+                op = (ShardOp<Object, Object, Object>)in.readObject();
+            } catch(EOFException e) {
+                return;
+            } catch(ClassNotFoundException e) {
+                throw new IOException("shard operation class is not on this process's classpath", e);
+            }
+            Object result;
+            boolean ok;
+            try {
+                result = op.apply(shard);
+                ok = true;
+            } catch(RuntimeException e) {
+                result = e;
+                ok = false;
+            }
+            out.writeBoolean(ok);
+            out.writeObject(result);
+            // Results share objects with the shard, so never let the stream send back stale cached copies
+            out.reset();
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.foley.graph.partition;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A shard hosted by a {@link ShardServer} in another process, reached over a loopback socket. Operations, their
+ * captured arguments, and their results travel with Java serialization, so vertices and costs must be
+ * {@code Serializable}
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public class SocketShardChannel<V, E> implements ShardChannel<V, E> {
+    private Socket socket;
+    private ObjectOutputStream out;
+    private ObjectInputStream in;
+    private ExecutorService sender;
+    private Process process;
+
+    /**
+     * Connects to a shard server listening on a loopback port
+     *
+     * @param port the port the shard server is listening on
+     * @throws IOException if the connection cannot be made
+     */
+    public SocketShardChannel(int port) throws IOException {
+        socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        out.flush();
+        in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+        sender = Executors.newSingleThreadExecutor(r -> {
+            var t = new Thread(r, "shard-channel-" + port);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts a shard server in a new local JVM with this process's classpath and connects to it. The process is stopped
+     * when the channel is closed
+     *
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a channel to the new shard process
+     * @throws IOException if the process cannot be started or reached
+     */
+    public static <V, E> SocketShardChannel<V, E> spawn() throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        var process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), ShardServer.class.getName())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        var reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if(line == null || !line.startsWith("PORT ")) {
+            process.destroyForcibly();
+            throw new IOException("shard process did not report its port");
+        }
+        var channel = new SocketShardChannel<V, E>(Integer.parseInt(line.substring(5).trim()));
+        channel.process = process;
+        return channel;
+    }
+
+    @Override
+    /**
+     * Sends the operation to the shard process and waits for its result on the channel's sender thread
+     *
+     * @param op the operation to run
+     * @param <R> the type of result of the operation
+     * @return a future that completes with the result of the operation
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> submit(ShardOp<V, E, R> op) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                out.writeObject(op);
+                out.reset();
+                out.flush();
+                boolean ok = in.readBoolean();
+                Object result = in.readObject();
+                if(!ok) {
+                    throw new CompletionException((Throwable)result);
+                }
+                return (R)result;
+            } catch(IOException e) {
+                throw new UncheckedIOException("lost connection to shard process", e);
+            } catch(ClassNotFoundException e) {
+                throw new IllegalStateException("shard result class is not on this process's classpath", e);
+            }
+        }, sender);
+    }
+
+    @Override
+    /**
+     * Disconnects from the shard and stops its process if this channel started it
+     */
+    public void close() throws IOException {
+        sender.shutdown();
+        socket.close();
+        if(process != null) {
+            try {
+                if(!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch(InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
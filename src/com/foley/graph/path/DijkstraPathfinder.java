@@ -0,0 +1,302 @@
+package com.foley.graph.path;
+
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+import com.foley.graph.cost.CostModel;
+import com.foley.graph.cost.DoubleCostModel;
+import com.foley.graph.cost.LongCostModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the best paths of a graph under any monotone {@link CostModel} with Dijkstra's algorithm. The graph is captured
+ * as a compact graph when the pathfinder is created, with every edge cost converted once; of several parallel edges
+ * between the same two vertices, only the best under the model is kept. When the model is a
+ * {@link DoubleCostModel} or a {@link LongCostModel}, costs are held in primitive arrays and the search never boxes;
+ * any other model runs the same search over boxed costs.
+ * <p>
+ * The search tree from the most recent starting vertex is kept, so asking for several destinations from the same start
+ * only searches once. A vertex is only reachable through a path whose cost is better than the model's infinity. Changes
+ * made to the graph after the pathfinder is created are not seen
+ *
+ * @param <V> the type of objects to navigate
+ * @param <E> the type of cost connecting the objects
+ */
+public class DijkstraPathfinder<V, E> implements Pathfinder<V, E> {
+    private CostModel<E> model;
+    private CompactGraph<V> cg;
+    private double[] doubleCosts;
+    private long[] longCosts;
+    private Object[] costs;
+    private int source;
+    private int[] parent;
+    private double[] doubleDist;
+    private long[] longDist;
+    private Object[] dist;
+
+    /**
+     * Creates a new pathfinder over a graph
+     *
+     * @param g the graph to navigate
+     * @param model the cost model that decides which paths are best
+     */
+    @SuppressWarnings("unchecked")
+    public DijkstraPathfinder(Graph<V, E> g, CostModel<E> model) {
+        if(g == null || g.isEmpty()) {
+            throw new IllegalArgumentException("cannot build a pathfinder for a null or empty graph");
+        }
+        if(model == null) {
+            throw new IllegalArgumentException("cannot find paths with a null cost model");
+        }
+        this.model = model;
+        cg = CompactGraph.of(g);
+        int n = cg.vertexCount();
+        int[] offsets = cg.offsets();
+        int[] targets = cg.targets();
+        // Group the edges by source in one pass, since a graph may look up a single edge cost in linear time
+        var all = g.getAllEdges();
+        int[] from = new int[all.size()];
+        int[] to = new int[all.size()];
+        Object[] edgeCosts = new Object[all.size()];
+        int[] start = new int[n + 1];
+        int m = 0;
+        for(var edge : all) {
+            from[m] = cg.id(edge.getSource());
+            to[m] = cg.id(edge.getDestination());
+            edgeCosts[m++] = edge.getCost();
+            start[from[m - 1] + 1]++;
+        }
+        for(int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] order = new int[m];
+        int[] fill = Arrays.copyOf(start, n);
+        for(int i = 0; i < m; i++) {
+            order[fill[from[i]]++] = i;
+        }
+        // Parallel edges share one slot of the compact graph, which keeps the best of their costs
+        Object[] best = new Object[targets.length];
+        int[] slot = new int[n];
+        for(int v = 0; v < n; v++) {
+            for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                slot[targets[e]] = e;
+            }
+            for(int i = start[v]; i < start[v + 1]; i++) {
+                int e = slot[to[order[i]]];
+                E cost = (E)edgeCosts[order[i]];
+                if(best[e] == null || model.compare(cost, (E)best[e]) < 0) {
+                    best[e] = cost;
+                }
+            }
+        }
+        if(model instanceof DoubleCostModel) {
+            var doubleModel = (DoubleCostModel<E>)model;
+            doubleCosts = new double[targets.length];
+            for(int e = 0; e < targets.length; e++) {
+                doubleCosts[e] = doubleModel.toDouble((E)best[e]);
+            }
+        } else if(model instanceof LongCostModel) {
+            var longModel = (LongCostModel<E>)model;
+            longCosts = new long[targets.length];
+            for(int e = 0; e < targets.length; e++) {
+                longCosts[e] = longModel.toLong((E)best[e]);
+            }
+        } else {
+            costs = best;
+        }
+        source = -1;
+    }
+
+    /**
+     * Gets the cost model used to rank paths
+     *
+     * @return the cost model used to rank paths
+     */
+    public CostModel<E> getModel() {
+        return model;
+    }
+
+    @Override
+    /**
+     * Attempts to find a path between {@code start} and {@code end}
+     *
+     * @param start the starting node
+     * @param end the ending node
+     * @return {@code true} if a path was found between the two nodes
+     */
+    public boolean findPath(V start, V end) {
+        if(start == null || end == null) {
+            throw new IllegalArgumentException("both nodes must be non-null to find a path between them");
+        }
+        int s = cg.id(start);
+        int t = cg.id(end);
+        if(s < 0 || t < 0) {
+            return false;
+        }
+        search(s);
+        return parent[t] >= 0;
+    }
+
+    @Override
+    /**
+     * Gets the ordered path of nodes between {@code start} and {@code end}
+     *
+     * @param start the starting node
+     * @param end the ending node
+     * @return the path of nodes between {@code start} and {@code end}, or an empty list if there is none
+     */
+    public List<V> getPathFrom(V start, V end) {
+        if(start == null || end == null) {
+            throw new IllegalArgumentException("both nodes must be non-null to get a path between them");
+        }
+        if(!findPath(start, end)) {
+            return List.of();
+        }
+        var path = new ArrayList<V>();
+        for(int v = cg.id(end); v != source; v = parent[v]) {
+            path.add(cg.vertex(v));
+        }
+        path.add(start);
+        Collections.reverse(path);
+        return path;
+    }
+
+    @Override
+    /**
+     * Gets the cost of the best path between {@code start} and {@code end} under the cost model
+     *
+     * @param start the starting node
+     * @param end the ending node
+     * @return the cost of the best path between {@code start} and {@code end}, or {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public E getPathCost(V start, V end) {
+        if(start == null || end == null) {
+            throw new IllegalArgumentException("both nodes must be non-null to get a path cost");
+        }
+        if(!findPath(start, end)) {
+            return null;
+        }
+        int t = cg.id(end);
+        if(doubleDist != null) {
+            return ((DoubleCostModel<E>)model).fromDouble(doubleDist[t]);
+        }
+        if(longDist != null) {
+            return ((LongCostModel<E>)model).fromLong(longDist[t]);
+        }
+        return (E)dist[t];
+    }
+
+    /**
+     * Builds the search tree from a starting vertex, unless it is already built
+     *
+     * @param s the dense id of the starting vertex
+     */
+    private void search(int s) {
+        if(s == source) {
+            return;
+        }
+        int n = cg.vertexCount();
+        parent = new int[n];
+        Arrays.fill(parent, -1);
+        parent[s] = s;
+        if(doubleCosts != null) {
+            searchDouble(s, (DoubleCostModel<E>)model);
+        } else if(longCosts != null) {
+            searchLong(s, (LongCostModel<E>)model);
+        } else {
+            searchBoxed(s);
+        }
+        source = s;
+    }
+
+    /**
+     * Runs the search over primitive {@code double} costs
+     *
+     * @param s the dense id of the starting vertex
+     * @param m the cost model
+     */
+    private void searchDouble(int s, DoubleCostModel<E> m) {
+        int[] offsets = cg.offsets();
+        int[] targets = cg.targets();
+        double[] d = new double[cg.vertexCount()];
+        Arrays.fill(d, m.infinityAsDouble());
+        d[s] = m.zeroAsDouble();
+        var heap = new IndexedHeap(d.length, (a, b) -> m.compare(d[a], d[b]));
+        heap.offer(s);
+        while(!heap.isEmpty()) {
+            int v = heap.poll();
+            for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                double next = m.combine(d[v], doubleCosts[e]);
+                if(m.compare(next, d[w]) < 0) {
+                    d[w] = next;
+                    parent[w] = v;
+                    heap.offer(w);
+                }
+            }
+        }
+        doubleDist = d;
+    }
+
+    /**
+     * Runs the search over primitive {@code long} costs
+     *
+     * @param s the dense id of the starting vertex
+     * @param m the cost model
+     */
+    private void searchLong(int s, LongCostModel<E> m) {
+        int[] offsets = cg.offsets();
+        int[] targets = cg.targets();
+        long[] d = new long[cg.vertexCount()];
+        Arrays.fill(d, m.infinityAsLong());
+        d[s] = m.zeroAsLong();
+        var heap = new IndexedHeap(d.length, (a, b) -> m.compare(d[a], d[b]));
+        heap.offer(s);
+        while(!heap.isEmpty()) {
+            int v = heap.poll();
+            for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                long next = m.combine(d[v], longCosts[e]);
+                if(m.compare(next, d[w]) < 0) {
+                    d[w] = next;
+                    parent[w] = v;
+                    heap.offer(w);
+                }
+            }
+        }
+        longDist = d;
+    }
+
+    /**
+     * Runs the search over boxed costs
+     *
+     * @param s the dense id of the starting vertex
+     */
+    @SuppressWarnings("unchecked")
+    private void searchBoxed(int s) {
+        int[] offsets = cg.offsets();
+        int[] targets = cg.targets();
+        Object[] d = new Object[cg.vertexCount()];
+        Arrays.fill(d, model.infinity());
+        d[s] = model.zero();
+        var heap = new IndexedHeap(d.length, (a, b) -> model.compare((E)d[a], (E)d[b]));
+        heap.offer(s);
+        while(!heap.isEmpty()) {
+            int v = heap.poll();
+            for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                E next = model.combine((E)d[v], (E)costs[e]);
+                if(model.compare(next, (E)d[w]) < 0) {
+                    d[w] = next;
+                    parent[w] = v;
+                    heap.offer(w);
+                }
+            }
+        }
+        dist = d;
+    }
+}
@@ -0,0 +1,345 @@
+package com.foley.graph.path;
+
+import com.foley.graph.core.Graph;
+import com.foley.graph.core.GraphListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A single-source shortest path tree that keeps itself up to date as its graph is mutated. The tree subscribes to the
+ * graph as a {@code GraphListener} and, in the style of Ramalingam and Reps, only repairs the part of the tree that a
+ * mutation can affect:
+ * <ul>
+ *     <li>Adding an edge, or lowering its cost, runs Dijkstra outward from the destination only while distances keep
+ *     improving</li>
+ *     <li>Removing a tree edge, or raising its cost, invalidates the subtree hanging below it, seeds each invalidated
+ *     vertex from its unaffected predecessors, and runs Dijkstra over the invalidated region alone</li>
+ *     <li>Removing or raising the cost of a non-tree edge requires no work at all</li>
+ * </ul>
+ * The work done per mutation is proportional to the vertices whose distance changes and their incident edges, not to
+ * the size of the graph. The graph is treated as having at most one edge between any ordered pair of vertices, which
+ * matches {@code BasicHashGraph}. Edge costs must be non-negative
+ *
+ * @param <V> the type of objects to navigate
+ * @param <E> the type of cost connecting the objects
+ */
+public class DynamicShortestPathTree<V, E extends Number> implements GraphListener<V, E> {
+    private Graph<V, E> g;
+    private V source;
+    private boolean sourceRemoved;
+    private Map<V, Double> dist;
+    private Map<V, V> parent;
+    private Map<V, Set<V>> children;
+    private Map<V, Map<V, Double>> incoming;
+
+    /**
+     * Creates a new shortest path tree rooted at {@code source} and registers it as a listener on {@code g}
+     *
+     * @param g the graph to maintain the tree over
+     * @param source the root of the shortest path tree
+     */
+    public DynamicShortestPathTree(Graph<V, E> g, V source) {
+        if(g == null || source == null) {
+            throw new IllegalArgumentException("cannot build a shortest path tree for a null graph or source");
+        }
+        if(!g.containsVertex(source)) {
+            throw new IllegalArgumentException("the source vertex must be in the graph");
+        }
+        this.g = g;
+        this.source = source;
+        dist = new HashMap<>();
+        parent = new HashMap<>();
+        children = new HashMap<>();
+        incoming = new HashMap<>();
+        for(V v : g.getVertices()) {
+            incoming.put(v, new HashMap<>());
+        }
+        for(var e : g.getAllEdges()) {
+            incoming.get(e.getDestination()).put(e.getSource(), weight(e.getCost()));
+        }
+        dist.put(source, 0.0);
+        var pq = new PriorityQueue<Entry<V>>();
+        pq.add(new Entry<>(source, 0.0));
+        propagate(pq);
+        g.addGraphListener(this);
+    }
+
+    /**
+     * Gets the root of the shortest path tree
+     *
+     * @return the root of the shortest path tree
+     */
+    public V getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the length of the shortest path from the source to {@code v}
+     *
+     * @param v the destination vertex
+     * @return the length of the shortest path, or {@link Double#POSITIVE_INFINITY} if {@code v} cannot be reached
+     */
+    public double getDistance(V v) {
+        return dist.getOrDefault(v, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns {@code true} if there is a path from the source to {@code v}
+     *
+     * @param v the destination vertex
+     * @return {@code true} if there is a path from the source to {@code v}
+     */
+    public boolean isReachable(V v) {
+        return dist.containsKey(v);
+    }
+
+    /**
+     * Gets the vertex that precedes {@code v} on its shortest path from the source
+     *
+     * @param v the vertex to look up
+     * @return the parent of {@code v} in the tree, or {@code null} for the source and unreachable vertices
+     */
+    public V getParent(V v) {
+        return parent.get(v);
+    }
+
+    /**
+     * Gets the ordered path of vertices from the source to {@code v}
+     *
+     * @param v the destination vertex
+     * @return the path from the source to {@code v}, or an empty list if {@code v} cannot be reached
+     */
+    public List<V> getPathTo(V v) {
+        if(!isReachable(v)) {
+            return List.of();
+        }
+        var path = new LinkedList<V>();
+        for(V cur = v; cur != null; cur = parent.get(cur)) {
+            path.addFirst(cur);
+        }
+        return path;
+    }
+
+    /**
+     * Stops listening to the graph. The tree keeps its last state but will no longer be repaired
+     */
+    public void detach() {
+        g.removeGraphListener(this);
+    }
+
+    @Override
+    /**
+     * Tracks the new vertex so that later edges into it can be indexed. A new vertex is always unreachable
+     *
+     * @param v the vertex that was added
+     */
+    public void vertexAdded(V v) {
+        incoming.putIfAbsent(v, new HashMap<>());
+    }
+
+    @Override
+    /**
+     * Forgets vertex {@code v}. Its edges have already been removed, so it is no longer part of the tree
+     *
+     * @param v the vertex that was removed
+     */
+    public void vertexRemoved(V v) {
+        incoming.remove(v);
+        children.remove(v);
+        dist.remove(v);
+        parent.remove(v);
+        if(v.equals(source)) {
+            sourceRemoved = true;
+            dist.clear();
+            parent.clear();
+            children.clear();
+        }
+    }
+
+    @Override
+    /**
+     * Repairs the tree after an edge has been added or its cost has changed
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the new cost to travel along the edge
+     */
+    public void edgeAdded(V v1, V v2, E cost) {
+        double w = weight(cost);
+        Double old = incoming.computeIfAbsent(v2, k -> new HashMap<>()).put(v1, w);
+        if(old != null && w > old && v1.equals(parent.get(v2))) {
+            repairSubtree(v2);
+            return;
+        }
+        double d = getDistance(v1) + w;
+        if(d < getDistance(v2)) {
+            setParent(v2, v1);
+            dist.put(v2, d);
+            var pq = new PriorityQueue<Entry<V>>();
+            pq.add(new Entry<>(v2, d));
+            propagate(pq);
+        }
+    }
+
+    @Override
+    /**
+     * Repairs the tree after an edge has been removed
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost of the edge that was removed
+     */
+    public void edgeRemoved(V v1, V v2, E cost) {
+        var in = incoming.get(v2);
+        if(in != null) {
+            in.remove(v1);
+        }
+        if(v1.equals(parent.get(v2))) {
+            repairSubtree(v2);
+        }
+    }
+
+    @Override
+    /**
+     * Drops the whole tree, since the source no longer exists
+     */
+    public void graphCleared() {
+        sourceRemoved = true;
+        dist.clear();
+        parent.clear();
+        children.clear();
+        incoming.clear();
+    }
+
+    /**
+     * Recomputes distances for {@code root} and every vertex below it in the tree, which are the only vertices whose
+     * shortest path can have become longer
+     *
+     * @param root the topmost vertex whose path was invalidated
+     */
+    private void repairSubtree(V root) {
+        // Collect and detach the affected subtree
+        var affected = new ArrayList<V>();
+        var stack = new ArrayDeque<V>();
+        stack.push(root);
+        setParent(root, null);
+        while(!stack.isEmpty()) {
+            V v = stack.pop();
+            affected.add(v);
+            dist.remove(v);
+            var kids = children.remove(v);
+            if(kids != null) {
+                for(V k : kids) {
+                    parent.remove(k);
+                    stack.push(k);
+                }
+            }
+        }
+        // Seed each affected vertex from its best predecessor outside of the affected region
+        var pq = new PriorityQueue<Entry<V>>();
+        for(V v : affected) {
+            V best = null;
+            double bestDist = Double.POSITIVE_INFINITY;
+            for(var in : incoming.getOrDefault(v, Collections.emptyMap()).entrySet()) {
+                double d = getDistance(in.getKey()) + in.getValue();
+                if(d < bestDist) {
+                    best = in.getKey();
+                    bestDist = d;
+                }
+            }
+            if(best != null) {
+                setParent(v, best);
+                dist.put(v, bestDist);
+                pq.add(new Entry<>(v, bestDist));
+            }
+        }
+        propagate(pq);
+    }
+
+    /**
+     * Runs Dijkstra from the entries in {@code pq}, relaxing outgoing edges for as long as distances improve
+     *
+     * @param pq the vertices whose distances have just improved
+     */
+    private void propagate(PriorityQueue<Entry<V>> pq) {
+        if(sourceRemoved) {
+            return;
+        }
+        while(!pq.isEmpty()) {
+            var entry = pq.poll();
+            if(entry.dist > getDistance(entry.v)) {
+                continue;
+            }
+            for(V adj : g.getAdjacent(entry.v)) {
+                double d = entry.dist + weight(g.getEdgeCost(entry.v, adj));
+                if(d < getDistance(adj)) {
+                    setParent(adj, entry.v);
+                    dist.put(adj, d);
+                    pq.add(new Entry<>(adj, d));
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves {@code v} underneath {@code p} in the tree
+     *
+     * @param v the child vertex
+     * @param p the new parent, or {@code null} to detach {@code v}
+     */
+    private void setParent(V v, V p) {
+        V old = p == null ? parent.remove(v) : parent.put(v, p);
+        if(old != null) {
+            var kids = children.get(old);
+            if(kids != null) {
+                kids.remove(v);
+            }
+        }
+        if(p != null) {
+            children.computeIfAbsent(p, k -> new HashSet<>()).add(v);
+        }
+    }
+
+    /**
+     * Converts an edge cost to a distance
+     *
+     * @param cost the cost of an edge
+     * @return the cost as a double
+     */
+    private static double weight(Number cost) {
+        double w = cost.doubleValue();
+        if(w < 0) {
+            throw new IllegalArgumentException("shortest path trees cannot be maintained over negative edge costs");
+        }
+        return w;
+    }
+
+    /**
+     * A tentative distance in the Dijkstra queue
+     *
+     * @param <V> the type of vertex
+     */
+    private static class Entry<V> implements Comparable<Entry<V>> {
+        private V v;
+        private double dist;
+
+        private Entry(V v, double dist) {
+            this.v = v;
+            this.dist = dist;
+        }
+
+        @Override
+        public int compareTo(Entry<V> o) {
+            return Double.compare(dist, o.dist);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.foley.graph.path;
+
+import java.util.Arrays;
+
+/**
+ * A binary heap of dense vertex ids that supports moving a vertex up when its key improves. Keys are not stored in the
+ * heap; the heap asks an {@link Order} to compare two vertices, so the keys can live in primitive arrays owned by the
+ * caller
+ */
+class IndexedHeap {
+    private int[] heap;
+    private int[] pos;
+    private int size;
+    private Order order;
+
+    /**
+     * Creates a new, empty heap
+     *
+     * @param n the number of vertices that may be placed in the heap
+     * @param order compares two vertices by their current keys
+     */
+    IndexedHeap(int n, Order order) {
+        heap = new int[n];
+        pos = new int[n];
+        this.order = order;
+        Arrays.fill(pos, -1);
+    }
+
+    /**
+     * Returns {@code true} if the heap holds no vertices
+     *
+     * @return {@code true} if the heap is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts a vertex, or moves it up if it is already in the heap and its key has improved
+     *
+     * @param v the vertex whose key is new or improved
+     */
+    void offer(int v) {
+        int i = pos[v];
+        if(i < 0) {
+            i = size++;
+            heap[i] = v;
+            pos[v] = i;
+        }
+        siftUp(i);
+    }
+
+    /**
+     * Removes and returns the vertex with the best key
+     *
+     * @return the vertex with the best key
+     */
+    int poll() {
+        int top = heap[0];
+        pos[top] = -1;
+        int last = heap[--size];
+        if(size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        while(i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if(order.compare(v, p) >= 0) {
+                break;
+            }
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        while(true) {
+            int child = 2 * i + 1;
+            if(child >= size) {
+                break;
+            }
+            if(child + 1 < size && order.compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            int c = heap[child];
+            if(order.compare(c, v) >= 0) {
+                break;
+            }
+            heap[i] = c;
+            pos[c] = i;
+            i = child;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+
+    /**
+     * Compares two vertices by their current keys
+     */
+    interface Order {
+        /**
+         * Compares the keys of two vertices
+         *
+         * @param a the first vertex
+         * @param b the second vertex
+         * @return a negative number if {@code a} should leave the heap before {@code b}
+         */
+        int compare(int a, int b);
+    }
+}
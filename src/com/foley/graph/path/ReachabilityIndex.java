@@ -0,0 +1,307 @@
+package com.foley.graph.path;
+
+import com.foley.graph.analysis.StronglyConnectedComponents;
+import com.foley.graph.compact.CompactGraph;
+import com.foley.graph.core.Graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * A precomputed index that answers whether one vertex can reach another without traversing the graph. The graph is
+ * first condensed into the DAG of its strongly connected components, then each component is given a topological height
+ * and {@code k} randomized post-order intervals in the style of GRAIL. A vertex {@code u} can only reach {@code v} if
+ * {@code u}'s component sits above {@code v}'s and every one of {@code u}'s intervals contains {@code v}'s, so most
+ * negative queries are answered in constant time. Queries the labels cannot rule out fall back to a depth first search
+ * that is pruned by the same labels.
+ * <p>
+ * Each component stores {@code 2k + 1} integers. The labelings are independent of each other and are built in
+ * parallel. The index is a snapshot: it does not observe later mutations of the graph it was built from
+ *
+ * @param <V> the type of objects to navigate
+ */
+public class ReachabilityIndex<V> {
+    /**
+     * The number of interval labelings used when none is specified
+     */
+    public static final int DEFAULT_LABELS = 4;
+
+    private CompactGraph<V> g;
+    private int[] component;
+    private int[] dagOffsets;
+    private int[] dagTargets;
+    private int[] height;
+    private int[][] low;
+    private int[][] post;
+
+    /**
+     * Builds a reachability index over {@code g} with the default number of labelings
+     *
+     * @param g the graph to index
+     */
+    public ReachabilityIndex(Graph<V, ?> g) {
+        this(CompactGraph.of(g), DEFAULT_LABELS, 0x5DEECE66DL);
+    }
+
+    /**
+     * Builds a reachability index over a compact graph
+     *
+     * @param g the graph to index
+     * @param labels the number of randomized interval labelings to build
+     * @param seed the seed for the randomized traversals
+     */
+    public ReachabilityIndex(CompactGraph<V> g, int labels, long seed) {
+        if(g == null) {
+            throw new IllegalArgumentException("cannot build a reachability index for a null graph");
+        }
+        if(labels < 1) {
+            throw new IllegalArgumentException("a reachability index needs at least one labeling");
+        }
+        this.g = g;
+        var scc = new StronglyConnectedComponents<>(g);
+        component = scc.componentIds();
+        condense(scc.componentCount());
+        low = new int[labels][];
+        post = new int[labels][];
+        var root = new SplittableRandom(seed);
+        var randoms = new SplittableRandom[labels];
+        for(int i = 0; i < labels; i++) {
+            randoms[i] = root.split();
+        }
+        IntStream.range(0, labels).parallel().forEach(i -> label(i, randoms[i]));
+    }
+
+    /**
+     * Returns {@code true} if there is a path from {@code start} to {@code end}. Every vertex can reach itself
+     *
+     * @param start the starting node
+     * @param end the ending node
+     * @return {@code true} if a path exists between the two nodes
+     */
+    public boolean findPath(V start, V end) {
+        if(start == null || end == null) {
+            throw new IllegalArgumentException("both nodes must be non-null to test reachability");
+        }
+        int s = g.id(start);
+        int t = g.id(end);
+        if(s < 0 || t < 0) {
+            return false;
+        }
+        return reaches(component[s], component[t]);
+    }
+
+    /**
+     * The number of strongly connected components in the condensed graph
+     *
+     * @return the number of strongly connected components
+     */
+    public int componentCount() {
+        return height.length;
+    }
+
+    /**
+     * The number of interval labelings stored per component
+     *
+     * @return the number of interval labelings
+     */
+    public int labelCount() {
+        return low.length;
+    }
+
+    /**
+     * Tests reachability between two components of the condensation
+     *
+     * @param from the source component
+     * @param to the destination component
+     * @return {@code true} if {@code from} can reach {@code to}
+     */
+    private boolean reaches(int from, int to) {
+        if(from == to) {
+            return true;
+        }
+        if(!mayReach(from, to)) {
+            return false;
+        }
+        // The labels could not rule the pair out, so search the DAG while pruning with them
+        var visited = new BitSet(height.length);
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = from;
+        visited.set(from);
+        while(top > 0) {
+            int c = stack[--top];
+            for(int e = dagOffsets[c]; e < dagOffsets[c + 1]; e++) {
+                int d = dagTargets[e];
+                if(d == to) {
+                    return true;
+                }
+                if(!visited.get(d) && mayReach(d, to)) {
+                    visited.set(d);
+                    if(top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = d;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code false} if the labels prove that component {@code from} cannot reach a different component
+     * {@code to}
+     *
+     * @param from the source component
+     * @param to the destination component
+     * @return {@code false} if {@code from} definitely cannot reach {@code to}
+     */
+    private boolean mayReach(int from, int to) {
+        if(height[from] <= height[to]) {
+            return false;
+        }
+        for(int i = 0; i < low.length; i++) {
+            if(low[i][from] > low[i][to] || post[i][to] > post[i][from]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the condensation DAG and the height of each of its components
+     *
+     * @param count the number of components
+     */
+    private void condense(int count) {
+        int n = g.vertexCount();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        // Bucket the vertices by component so each component's edges can be deduplicated together
+        int[] memberOffsets = new int[count + 1];
+        for(int v = 0; v < n; v++) {
+            memberOffsets[component[v] + 1]++;
+        }
+        for(int c = 0; c < count; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        int[] members = new int[n];
+        int[] fill = memberOffsets.clone();
+        for(int v = 0; v < n; v++) {
+            members[fill[component[v]]++] = v;
+        }
+        int[] mark = new int[count];
+        Arrays.fill(mark, -1);
+        dagOffsets = new int[count + 1];
+        int[] buffer = new int[Math.max(16, g.edgeCount())];
+        int size = 0;
+        height = new int[count];
+        // Tarjan numbers components in reverse topological order, so every successor of c has a smaller id than c
+        for(int c = 0; c < count; c++) {
+            int h = 0;
+            for(int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                int v = members[m];
+                for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int d = component[targets[e]];
+                    if(d != c && mark[d] != c) {
+                        mark[d] = c;
+                        buffer[size++] = d;
+                        h = Math.max(h, height[d] + 1);
+                    }
+                }
+            }
+            height[c] = h;
+            dagOffsets[c + 1] = size;
+        }
+        dagTargets = Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Builds the {@code i}th interval labeling with a randomized post-order traversal of the DAG
+     *
+     * @param i the labeling to build
+     * @param rand the source of randomness for this labeling
+     */
+    private void label(int i, SplittableRandom rand) {
+        int count = height.length;
+        int[] lo = new int[count];
+        int[] po = new int[count];
+        int[] next = new int[count];
+        int[] start = new int[count];
+        boolean[] visited = new boolean[count];
+        int[] stack = new int[count];
+        // Visit the roots in a random order
+        int[] roots = new int[count];
+        for(int c = 0; c < count; c++) {
+            roots[c] = c;
+        }
+        for(int c = count - 1; c > 0; c--) {
+            int r = rand.nextInt(c + 1);
+            int t = roots[c];
+            roots[c] = roots[r];
+            roots[r] = t;
+        }
+        int rank = 0;
+        for(int root : roots) {
+            if(visited[root]) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = root;
+            visited[root] = true;
+            begin(root, rand, next, start, lo);
+            while(top > 0) {
+                int c = stack[top - 1];
+                int degree = dagOffsets[c + 1] - dagOffsets[c];
+                boolean descended = false;
+                // Children are visited starting from a random rotation of the adjacency row
+                while(next[c] < degree) {
+                    int d = dagTargets[dagOffsets[c] + (start[c] + next[c]++) % degree];
+                    if(!visited[d]) {
+                        visited[d] = true;
+                        begin(d, rand, next, start, lo);
+                        stack[top++] = d;
+                        descended = true;
+                        break;
+                    }
+                    if(lo[d] < lo[c]) {
+                        lo[c] = lo[d];
+                    }
+                }
+                if(descended) {
+                    continue;
+                }
+                po[c] = rank++;
+                if(po[c] < lo[c]) {
+                    lo[c] = po[c];
+                }
+                top--;
+                if(top > 0) {
+                    int p = stack[top - 1];
+                    if(lo[c] < lo[p]) {
+                        lo[p] = lo[c];
+                    }
+                }
+            }
+        }
+        low[i] = lo;
+        post[i] = po;
+    }
+
+    /**
+     * Prepares a component for its visit in a labeling traversal
+     *
+     * @param c the component being visited
+     * @param rand the source of randomness for this labeling
+     * @param next the number of children visited so far for each component
+     * @param start the random starting offset into each component's children
+     * @param lo the lowest post-order rank reachable from each component
+     */
+    private void begin(int c, SplittableRandom rand, int[] next, int[] start, int[] lo) {
+        int degree = dagOffsets[c + 1] - dagOffsets[c];
+        next[c] = 0;
+        start[c] = degree > 1 ? rand.nextInt(degree) : 0;
+        lo[c] = Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,22 @@
+package com.foley.graph.view;
+
+/**
+ * Decides whether an edge of a graph is visible through a view. Edges are passed as their parts so that no edge object
+ * needs to be built to test one
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+@FunctionalInterface
+public interface EdgeFilter<V, E> {
+    /**
+     * Returns {@code true} if the edge between source vertex {@code v1} and destination vertex {@code v2} with a cost of
+     * {@code cost} should be visible
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return {@code true} if the edge should be visible
+     */
+    boolean test(V v1, V v2, E cost);
+}
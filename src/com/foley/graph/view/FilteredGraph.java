@@ -0,0 +1,253 @@
+package com.foley.graph.view;
+
+import com.foley.graph.core.BasicEdge;
+import com.foley.graph.core.Graph;
+import com.foley.graph.core.GraphListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A view of a graph that hides the vertices failing a predicate, along with their edges, and the edges failing an edge
+ * filter. A {@code null} predicate or filter hides nothing, and skips the cost lookup needed to test each edge
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+class FilteredGraph<V, E> extends GraphView<V, E> {
+    private Set<V> candidates;
+    private Predicate<V> vertexFilter;
+    private EdgeFilter<V, E> edgeFilter;
+
+    /**
+     * Creates a new filtered view of a graph
+     *
+     * @param base the graph to view
+     * @param candidates the vertices to draw the visible vertices from when iterating, which must include every vertex
+     *                   passing {@code vertexFilter}, or {@code null} to draw them from the underlying graph
+     * @param vertexFilter the predicate a vertex must pass to be visible, or {@code null} to show every vertex
+     * @param edgeFilter the filter an edge must pass to be visible, or {@code null} to show every edge
+     */
+    FilteredGraph(Graph<V, E> base, Set<V> candidates, Predicate<V> vertexFilter, EdgeFilter<V, E> edgeFilter) {
+        super(base);
+        this.candidates = candidates;
+        this.vertexFilter = vertexFilter;
+        this.edgeFilter = edgeFilter;
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the view contains the vertex {@code v}
+     *
+     * @param v the vertex to check
+     * @return {@code true} if the view contains vertex {@code v}
+     */
+    public boolean containsVertex(V v) {
+        return v != null && getBase().containsVertex(v) && (vertexFilter == null || vertexFilter.test(v));
+    }
+
+    @Override
+    /**
+     * Returns the cost for traveling along the edge connecting source vertex {@code v1} and destination vertex
+     * {@code v2}, or {@code null} if the edge is not visible through the view
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @return the cost to travel along the edge connecting {@code v1} and {@code v2}
+     */
+    public E getEdgeCost(V v1, V v2) {
+        if(!containsVertex(v1) || !containsVertex(v2)) {
+            return null;
+        }
+        E cost = getBase().getEdgeCost(v1, v2);
+        if(edgeFilter != null && cost != null && !edgeFilter.test(v1, v2, cost)) {
+            return null;
+        }
+        return cost;
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if an edge between source vertex {@code v1} and destination vertex {@code v2} is visible
+     * through the view
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @return {@code true} if a visible edge exists between the two vertices
+     */
+    public boolean areAdjacent(V v1, V v2) {
+        if(!containsVertex(v1) || !containsVertex(v2) || !getBase().areAdjacent(v1, v2)) {
+            return false;
+        }
+        return edgeFilter == null || edgeFilter.test(v1, v2, getBase().getEdgeCost(v1, v2));
+    }
+
+    @Override
+    /**
+     * Returns a lazily filtered set of the visible vertices adjacent to vertex {@code v}
+     *
+     * @param v the source vertex
+     * @return a set of vertices adjacent to {@code v}, which is empty if {@code v} is not visible
+     */
+    public Set<V> getAdjacent(V v) {
+        if(!containsVertex(v)) {
+            return Collections.emptySet();
+        }
+        var adjacent = getBase().getAdjacent(v);
+        if(vertexFilter == null && edgeFilter == null) {
+            return Collections.unmodifiableSet(adjacent);
+        }
+        return new FilteredSet<>(adjacent, w -> (vertexFilter == null || vertexFilter.test(w))
+                && (edgeFilter == null || edgeFilter.test(v, w, getBase().getEdgeCost(v, w))));
+    }
+
+    @Override
+    /**
+     * Returns a lazily filtered set with all of the visible vertices
+     *
+     * @return a set with all of the vertices in the view
+     */
+    public Set<V> getVertices() {
+        if(candidates == null) {
+            var vertices = getBase().getVertices();
+            if(vertexFilter == null) {
+                return Collections.unmodifiableSet(vertices);
+            }
+            return new FilteredSet<>(vertices, vertexFilter);
+        }
+        return new FilteredSet<>(candidates, this::containsVertex);
+    }
+
+    @Override
+    /**
+     * Creates the listener that forwards the events of the underlying graph whose vertices and edges are visible. With
+     * an edge filter, the listener keeps the cost of every visible edge, so that a cost change that hides an edge is
+     * forwarded as the removal of the edge with the cost it was visible with
+     *
+     * @return a listener that forwards the visible events of the underlying graph
+     */
+    protected GraphListener<V, E> createForwarder() {
+        Map<V, Map<V, E>> shown = edgeFilter == null ? null : visibleCosts();
+        return new GraphListener<>() {
+            @Override
+            public void vertexAdded(V v) {
+                if(vertexFilter == null || vertexFilter.test(v)) {
+                    getListeners().fireVertexAdded(v);
+                }
+            }
+
+            @Override
+            public void vertexRemoved(V v) {
+                if(vertexFilter == null || vertexFilter.test(v)) {
+                    getListeners().fireVertexRemoved(v);
+                }
+            }
+
+            @Override
+            public void edgeAdded(V v1, V v2, E cost) {
+                if(!visible(v1, v2, cost, false)) {
+                    return;
+                }
+                if(shown == null) {
+                    getListeners().fireEdgeAdded(v1, v2, cost);
+                    return;
+                }
+                E old;
+                synchronized(shown) {
+                    if(edgeFilter.test(v1, v2, cost)) {
+                        shown.computeIfAbsent(v1, k -> new HashMap<>()).put(v2, cost);
+                        old = null;
+                    } else {
+                        var row = shown.get(v1);
+                        old = row == null ? null : row.get(v2);
+                        // The visible edge is only gone if the add replaced it, rather than adding a parallel edge
+                        if(old != null && !getBase().getEdges(v1).contains(BasicEdge.buildEdge(v1, v2, old))) {
+                            row.remove(v2);
+                        } else {
+                            return;
+                        }
+                    }
+                }
+                if(old == null) {
+                    getListeners().fireEdgeAdded(v1, v2, cost);
+                } else {
+                    getListeners().fireEdgeRemoved(v1, v2, old);
+                }
+            }
+
+            @Override
+            public void edgeRemoved(V v1, V v2, E cost) {
+                if(!visible(v1, v2, cost)) {
+                    return;
+                }
+                if(shown != null) {
+                    synchronized(shown) {
+                        var row = shown.get(v1);
+                        if(row != null && Objects.equals(row.get(v2), cost)) {
+                            row.remove(v2);
+                        }
+                    }
+                }
+                getListeners().fireEdgeRemoved(v1, v2, cost);
+            }
+
+            @Override
+            public void graphCleared() {
+                if(shown != null) {
+                    synchronized(shown) {
+                        shown.clear();
+                    }
+                }
+                getListeners().fireGraphCleared();
+            }
+        };
+    }
+
+    /**
+     * Gathers the cost of every edge currently visible through the view
+     *
+     * @return the cost of each visible edge, keyed by source and then destination
+     */
+    private Map<V, Map<V, E>> visibleCosts() {
+        var shown = new HashMap<V, Map<V, E>>();
+        for(V v : getVertices()) {
+            for(V w : getAdjacent(v)) {
+                shown.computeIfAbsent(v, k -> new HashMap<>()).put(w, getBase().getEdgeCost(v, w));
+            }
+        }
+        return shown;
+    }
+
+    /**
+     * Returns {@code true} if an edge passes both filters. Removed edges are tested by their parts, since their
+     * endpoints may no longer be in the underlying graph
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return {@code true} if the edge is visible through the view
+     */
+    private boolean visible(V v1, V v2, E cost) {
+        return visible(v1, v2, cost, true);
+    }
+
+    /**
+     * Returns {@code true} if an edge passes the vertex filter, and the edge filter if {@code testEdge} is set
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @param testEdge {@code true} to apply the edge filter as well
+     * @return {@code true} if the edge passes the filters applied
+     */
+    private boolean visible(V v1, V v2, E cost, boolean testEdge) {
+        if(vertexFilter != null && (!vertexFilter.test(v1) || !vertexFilter.test(v2))) {
+            return false;
+        }
+        return !testEdge || edgeFilter == null || edgeFilter.test(v1, v2, cost);
+    }
+}
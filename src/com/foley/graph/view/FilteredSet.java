@@ -0,0 +1,80 @@
+package com.foley.graph.view;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A read-only view of the elements of a set that pass a predicate. The predicate is applied as the set is iterated, so
+ * {@link #size()} takes time proportional to the size of the underlying set
+ *
+ * @param <T> The type of elements in the set
+ */
+class FilteredSet<T> extends AbstractSet<T> {
+    private Set<T> base;
+    private Predicate<T> filter;
+
+    /**
+     * Creates a new filtered view of a set
+     *
+     * @param base the set to filter
+     * @param filter the predicate an element must pass to be visible
+     */
+    FilteredSet(Set<T> base, Predicate<T> filter) {
+        this.base = base;
+        this.filter = filter;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        var it = base.iterator();
+        return new Iterator<>() {
+            private T next;
+            private boolean ready;
+
+            @Override
+            public boolean hasNext() {
+                while(!ready && it.hasNext()) {
+                    T t = it.next();
+                    if(filter.test(t)) {
+                        next = t;
+                        ready = true;
+                    }
+                }
+                return ready;
+            }
+
+            @Override
+            public T next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return next;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for(T t : base) {
+            if(filter.test(t)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+        try {
+            return base.contains(o) && filter.test((T)o);
+        } catch(ClassCastException e) {
+            return false;
+        }
+    }
+}
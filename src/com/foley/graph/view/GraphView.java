@@ -0,0 +1,312 @@
+package com.foley.graph.view;
+
+import com.foley.graph.core.BasicEdge;
+import com.foley.graph.core.Edge;
+import com.foley.graph.core.Graph;
+import com.foley.graph.core.GraphListener;
+import com.foley.graph.core.GraphListenerSupport;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class provides a skeletal implementation of a read-only, lazily evaluated view of another graph. Nothing is
+ * copied: every query is answered by consulting the underlying graph, so the view always reflects its current state.
+ * Edge sets are derived from {@link #getAdjacent(Object)} and {@link #getEdgeCost(Object, Object)} as they are
+ * iterated.
+ * <p>
+ * Every mutating method throws {@code UnsupportedOperationException}. Listeners registered on a view are notified of
+ * the mutations made to the underlying graph that are visible through the view, translated into the view's terms
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+public abstract class GraphView<V, E> implements Graph<V, E> {
+    private Graph<V, E> base;
+    private GraphListenerSupport<V, E> listeners;
+    private GraphListener<V, E> forwarder;
+    private boolean retained;
+
+    /**
+     * Creates a new view of a graph
+     *
+     * @param base the graph to view
+     */
+    protected GraphView(Graph<V, E> base) {
+        if(base == null) {
+            throw new IllegalArgumentException("cannot create a view of a null graph");
+        }
+        this.base = base;
+        listeners = new GraphListenerSupport<>();
+    }
+
+    /**
+     * Gets the graph underlying this view
+     *
+     * @return the graph underlying this view
+     */
+    public Graph<V, E> getBase() {
+        return base;
+    }
+
+    @Override
+    /**
+     * Not supported, views are read-only
+     */
+    public void clear() {
+        throw new UnsupportedOperationException("graph views are read-only");
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the view contains the vertex {@code v}
+     *
+     * @param v the vertex to check
+     * @return {@code true} if the view contains the vertex {@code v}
+     */
+    public boolean contains(V v) {
+        return containsVertex(v);
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the view has no vertices
+     *
+     * @return {@code true} if the view has no vertices
+     */
+    public boolean isEmpty() {
+        return !getVertices().iterator().hasNext();
+    }
+
+    @Override
+    /**
+     * The number of vertices in the view. Views that filter vertices count them on every call
+     *
+     * @return the number of vertices in the view
+     */
+    public int size() {
+        return getVertices().size();
+    }
+
+    @Override
+    /**
+     * Not supported, views are read-only
+     *
+     * @param v the vertex to add
+     * @return never returns normally
+     */
+    public boolean addVertex(V v) {
+        throw new UnsupportedOperationException("graph views are read-only");
+    }
+
+    @Override
+    /**
+     * Not supported, views are read-only
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return never returns normally
+     */
+    public boolean addEdge(V v1, V v2, E cost) {
+        throw new UnsupportedOperationException("graph views are read-only");
+    }
+
+    @Override
+    /**
+     * Not supported, views are read-only
+     *
+     * @param v the vertex to remove
+     * @return never returns normally
+     */
+    public boolean removeVertex(V v) {
+        throw new UnsupportedOperationException("graph views are read-only");
+    }
+
+    @Override
+    /**
+     * Not supported, views are read-only
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @param cost the cost to travel along the edge
+     * @return never returns normally
+     */
+    public boolean removeEdge(V v1, V v2, E cost) {
+        throw new UnsupportedOperationException("graph views are read-only");
+    }
+
+    @Override
+    /**
+     * Returns a lazily evaluated set with all the edges originating from source vertex {@code v}
+     *
+     * @param v the source vertex
+     * @return a set with all the edges originating from source vertex {@code v}
+     */
+    public Set<Edge<V, E>> getEdges(V v) {
+        if(v == null) {
+            throw new IllegalArgumentException("cannot get edges for a null vertex");
+        }
+        return new EdgeSet(Set.of(v));
+    }
+
+    @Override
+    /**
+     * Returns a lazily evaluated set with all of the edges in the view
+     *
+     * @return a set with all the edges in the view
+     */
+    public Set<Edge<V, E>> getAllEdges() {
+        return new EdgeSet(getVertices());
+    }
+
+    @Override
+    /**
+     * Registers a listener that will be notified of every mutation to the underlying graph that is visible through the
+     * view. The view only listens to the underlying graph while it has listeners of its own, unless the forwarder is
+     * retained
+     *
+     * @param l the listener to register
+     */
+    public synchronized void addGraphListener(GraphListener<V, E> l) {
+        listeners.addListener(l);
+        if(forwarder == null) {
+            forwarder = createForwarder();
+            base.addGraphListener(forwarder);
+        }
+    }
+
+    @Override
+    /**
+     * Unregisters a listener previously registered with {@link #addGraphListener(GraphListener)}
+     *
+     * @param l the listener to unregister
+     * @return {@code true} if the listener was registered with the view
+     */
+    public synchronized boolean removeGraphListener(GraphListener<V, E> l) {
+        boolean removed = listeners.removeListener(l);
+        if(forwarder != null && !retained && !listeners.hasListeners()) {
+            base.removeGraphListener(forwarder);
+            forwarder = null;
+        }
+        return removed;
+    }
+
+    /**
+     * Keeps the forwarder registered on the underlying graph from now on, even while the view has no listeners, so that
+     * a subclass can keep state derived from the underlying graph up to date in it
+     */
+    protected synchronized void retainForwarder() {
+        retained = true;
+        if(forwarder == null) {
+            forwarder = createForwarder();
+            base.addGraphListener(forwarder);
+        }
+    }
+
+    /**
+     * Stops listening to the underlying graph, even if the forwarder was retained. Listeners registered on the view no
+     * longer receive events until another listener is registered, and state derived from the underlying graph is
+     * dropped so that it is rebuilt on its next use
+     */
+    public synchronized void detach() {
+        if(forwarder != null) {
+            base.removeGraphListener(forwarder);
+            forwarder = null;
+        }
+        retained = false;
+        detached();
+    }
+
+    /**
+     * Called after {@link #detach()} has unregistered the forwarder, so that a subclass can drop the state it kept up to
+     * date through it. The default implementation does nothing
+     */
+    protected void detached() {
+    }
+
+    /**
+     * Returns the listener support used to notify the view's listeners
+     *
+     * @return the listener support for this view
+     */
+    protected GraphListenerSupport<V, E> getListeners() {
+        return listeners;
+    }
+
+    /**
+     * Creates the listener registered on the underlying graph, which translates its events into events on this view and
+     * delivers them through {@link #getListeners()}
+     *
+     * @return a listener that forwards the visible events of the underlying graph
+     */
+    protected abstract GraphListener<V, E> createForwarder();
+
+    /**
+     * The edges leaving a set of vertices, built from the adjacency of each vertex as it is iterated
+     */
+    private class EdgeSet extends AbstractSet<Edge<V, E>> {
+        private Set<V> sources;
+
+        private EdgeSet(Set<V> sources) {
+            this.sources = sources;
+        }
+
+        @Override
+        public Iterator<Edge<V, E>> iterator() {
+            var vertices = sources.iterator();
+            return new Iterator<>() {
+                private V source;
+                private Iterator<V> adjacent;
+
+                @Override
+                public boolean hasNext() {
+                    while(adjacent == null || !adjacent.hasNext()) {
+                        if(!vertices.hasNext()) {
+                            return false;
+                        }
+                        source = vertices.next();
+                        adjacent = getAdjacent(source).iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                public Edge<V, E> next() {
+                    if(!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    V destination = adjacent.next();
+                    return BasicEdge.buildEdge(source, destination, getEdgeCost(source, destination));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for(V v : sources) {
+                size += getAdjacent(v).size();
+            }
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            if(!(o instanceof Edge)) {
+                return false;
+            }
+            var e = (Edge<V, E>)o;
+            try {
+                return sources.contains(e.getSource()) && areAdjacent(e.getSource(), e.getDestination())
+                        && Objects.equals(getEdgeCost(e.getSource(), e.getDestination()), e.getCost());
+            } catch(ClassCastException ex) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.foley.graph.view;
+
+import com.foley.graph.core.Graph;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Provides methods for creating lazily evaluated, read-only views of a graph. A view delegates every query to the graph
+ * it was created from without copying any vertices or edges, so creating one is constant time and it always reflects
+ * the current state of that graph. Views can be passed anywhere a {@code Graph} is expected, including to pathfinders,
+ * and can be stacked on top of each other.
+ * <p>
+ * Predicates and filters are evaluated on every query. If a predicate depends on outside state, such as a set of closed
+ * roads, changing that state changes the view immediately, but no listener events are fired for it
+ */
+public class GraphViews {
+    /**
+     * Creates a view of a graph showing only the vertices that pass a predicate, along with the edges between them
+     *
+     * @param g the graph to view
+     * @param filter the predicate a vertex must pass to be visible
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a view of the vertices of {@code g} that pass {@code filter}
+     */
+    public static <V, E> GraphView<V, E> filterVertices(Graph<V, E> g, Predicate<V> filter) {
+        if(filter == null) {
+            throw new IllegalArgumentException("cannot filter vertices with a null predicate");
+        }
+        return new FilteredGraph<>(g, null, filter, null);
+    }
+
+    /**
+     * Creates a view of a graph showing every vertex, but only the edges that pass a filter
+     *
+     * @param g the graph to view
+     * @param filter the filter an edge must pass to be visible
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a view of {@code g} without the edges that fail {@code filter}
+     */
+    public static <V, E> GraphView<V, E> filterEdges(Graph<V, E> g, EdgeFilter<V, E> filter) {
+        if(filter == null) {
+            throw new IllegalArgumentException("cannot filter edges with a null filter");
+        }
+        return new FilteredGraph<>(g, null, null, filter);
+    }
+
+    /**
+     * Creates a view of a graph showing only the vertices that pass a predicate and the edges that pass a filter
+     *
+     * @param g the graph to view
+     * @param vertexFilter the predicate a vertex must pass to be visible
+     * @param edgeFilter the filter an edge must pass to be visible
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a view of the vertices and edges of {@code g} that pass both filters
+     */
+    public static <V, E> GraphView<V, E> filter(Graph<V, E> g, Predicate<V> vertexFilter, EdgeFilter<V, E> edgeFilter) {
+        if(vertexFilter == null || edgeFilter == null) {
+            throw new IllegalArgumentException("cannot filter a graph with a null predicate or filter");
+        }
+        return new FilteredGraph<>(g, null, vertexFilter, edgeFilter);
+    }
+
+    /**
+     * Creates a view of the subgraph induced by a set of vertices: the vertices of the set that are in the graph, and
+     * every edge between two of them. The set is not copied, so later changes to it are reflected in the view. Iterating
+     * the view's vertices takes time proportional to the size of the set rather than the size of the graph
+     *
+     * @param g the graph to view
+     * @param vertices the vertices to keep
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a view of the subgraph of {@code g} induced by {@code vertices}
+     */
+    public static <V, E> GraphView<V, E> induced(Graph<V, E> g, Set<V> vertices) {
+        if(vertices == null) {
+            throw new IllegalArgumentException("cannot induce a subgraph from a null set of vertices");
+        }
+        return new FilteredGraph<>(g, vertices, vertices::contains, null);
+    }
+
+    /**
+     * Creates a view of a graph with the direction of every edge reversed. Adjacency queries are answered from a reverse
+     * index that is built on first use and then kept up to date as the graph changes, until the view is detached with
+     * {@link GraphView#detach()}
+     *
+     * @param g the graph to view
+     * @param <V> The type of vertices in the graph
+     * @param <E> The type of cost between vertices in the graph
+     * @return a view of {@code g} with every edge reversed
+     */
+    public static <V, E> GraphView<V, E> reversed(Graph<V, E> g) {
+        return new ReversedGraph<>(g);
+    }
+}
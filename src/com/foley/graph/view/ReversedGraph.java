@@ -0,0 +1,184 @@
+package com.foley.graph.view;
+
+import com.foley.graph.core.Graph;
+import com.foley.graph.core.GraphListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A view of a graph with the direction of every edge reversed. Outgoing edges of the view are the incoming edges of the
+ * underlying graph, which are found through a reverse adjacency index. The index is built on the first adjacency query
+ * and from then on updated edge by edge from the events of the underlying graph, before those events are forwarded to
+ * the view's own listeners. Once the index is built the view keeps listening to the underlying graph until
+ * {@link #detach()} is called, which drops the index
+ *
+ * @param <V> The type of vertices in the graph
+ * @param <E> The type of cost between vertices in the graph
+ */
+class ReversedGraph<V, E> extends GraphView<V, E> {
+    private Map<V, Set<V>> incoming;
+
+    /**
+     * Creates a new reversed view of a graph
+     *
+     * @param base the graph to view
+     */
+    ReversedGraph(Graph<V, E> base) {
+        super(base);
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the view contains the vertex {@code v}
+     *
+     * @param v the vertex to check
+     * @return {@code true} if the view contains vertex {@code v}
+     */
+    public boolean containsVertex(V v) {
+        return getBase().containsVertex(v);
+    }
+
+    @Override
+    /**
+     * Returns the cost for traveling along the edge connecting source vertex {@code v1} and destination vertex
+     * {@code v2}, which is the cost of the edge from {@code v2} to {@code v1} in the underlying graph
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @return the cost to travel along the edge connecting {@code v1} and {@code v2}
+     */
+    public E getEdgeCost(V v1, V v2) {
+        return getBase().getEdgeCost(v2, v1);
+    }
+
+    @Override
+    /**
+     * Returns {@code true} if the underlying graph has an edge from {@code v2} to {@code v1}
+     *
+     * @param v1 the source vertex
+     * @param v2 the destination vertex
+     * @return {@code true} if an edge exists between the two nodes in the view
+     */
+    public boolean areAdjacent(V v1, V v2) {
+        return getBase().areAdjacent(v2, v1);
+    }
+
+    @Override
+    /**
+     * Returns the vertices of the underlying graph with an edge to vertex {@code v}
+     *
+     * @param v the source vertex
+     * @return a copy of the vertices adjacent to {@code v} in the view, which is empty if {@code v} is not in the graph
+     */
+    public synchronized Set<V> getAdjacent(V v) {
+        // A copy, since the index is updated from the events of the underlying graph while the caller iterates
+        var adjacent = index().get(v);
+        return adjacent == null ? Collections.emptySet() : Set.copyOf(adjacent);
+    }
+
+    @Override
+    /**
+     * Returns a set with all of the vertices in the view, which are the vertices of the underlying graph
+     *
+     * @return a set with all of the vertices in the view
+     */
+    public Set<V> getVertices() {
+        return Collections.unmodifiableSet(getBase().getVertices());
+    }
+
+    @Override
+    /**
+     * Creates the listener that updates the reverse index, if one has been built, and then forwards the events of the
+     * underlying graph with every edge reversed
+     *
+     * @return a listener that maintains the index and forwards the reversed events of the underlying graph
+     */
+    protected GraphListener<V, E> createForwarder() {
+        return new GraphListener<>() {
+            @Override
+            public void vertexAdded(V v) {
+                getListeners().fireVertexAdded(v);
+            }
+
+            @Override
+            public void vertexRemoved(V v) {
+                // Edges leave before their vertex does, so only the vertex's own entry is left to drop
+                synchronized(ReversedGraph.this) {
+                    if(incoming != null) {
+                        incoming.remove(v);
+                    }
+                }
+                getListeners().fireVertexRemoved(v);
+            }
+
+            @Override
+            public void edgeAdded(V v1, V v2, E cost) {
+                synchronized(ReversedGraph.this) {
+                    if(incoming != null) {
+                        incoming.computeIfAbsent(v2, k -> new HashSet<>()).add(v1);
+                    }
+                }
+                getListeners().fireEdgeAdded(v2, v1, cost);
+            }
+
+            @Override
+            public void edgeRemoved(V v1, V v2, E cost) {
+                synchronized(ReversedGraph.this) {
+                    // A parallel edge between the same vertices may still be there
+                    if(incoming != null && !getBase().areAdjacent(v1, v2)) {
+                        var sources = incoming.get(v2);
+                        if(sources != null) {
+                            sources.remove(v1);
+                        }
+                    }
+                }
+                getListeners().fireEdgeRemoved(v2, v1, cost);
+            }
+
+            @Override
+            public void graphCleared() {
+                synchronized(ReversedGraph.this) {
+                    if(incoming != null) {
+                        incoming.clear();
+                    }
+                }
+                getListeners().fireGraphCleared();
+            }
+        };
+    }
+
+    @Override
+    /**
+     * Drops the reverse index, which is no longer kept up to date. The next adjacency query rebuilds it
+     */
+    protected void detached() {
+        incoming = null;
+    }
+
+    /**
+     * Gets the reverse adjacency index, building it on first use. The caller must hold this view's lock
+     *
+     * @return the vertices with an edge to each vertex
+     */
+    private Map<V, Set<V>> index() {
+        if(incoming != null) {
+            return incoming;
+        }
+        // Listen before reading, so that no mutation falls between the build and the first update. Updates wait on
+        // this view's lock until the build is done
+        retainForwarder();
+        var g = getBase();
+        var index = new HashMap<V, Set<V>>();
+        for(V v : g.getVertices()) {
+            for(V w : g.getAdjacent(v)) {
+                index.computeIfAbsent(w, k -> new HashSet<>()).add(v);
+            }
+        }
+        incoming = index;
+        return index;
+    }
+}